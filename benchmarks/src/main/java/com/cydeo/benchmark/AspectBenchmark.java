@@ -0,0 +1,126 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.aspect.LoggingAspect;
+import com.cydeo.aspect.PerformanceAspect;
+import com.cydeo.controller.ProjectController;
+import com.cydeo.controller.UserController;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.mapper.ProjectMapperImpl;
+import com.cydeo.mapper.RoleMapperImpl;
+import com.cydeo.mapper.TaskMapperImpl;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.mapper.UserMapperImpl;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.ProjectService;
+import com.cydeo.service.UserService;
+import com.cydeo.service.impl.AuditLogServiceImpl;
+import com.cydeo.util.ResourceVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Per-call cost the two aspects add to a controller returning a 50 item page: the plain controller, the same
+// controller behind LoggingAspect (audit every call, worst case) and behind PerformanceAspect (@ExecutionTime).
+// Services are canned answers, so only the advice is measured. Audit output is switched off; the writer still drains.
+// Run with: mvn -Pbenchmark install -Djmh.include=AspectBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AspectBenchmark {
+
+    private ProjectController projectController;
+    private ProjectController auditedProjectController;
+    private UserController userController;
+    private UserController timedUserController;
+    private AuditLogServiceImpl auditLogService;
+    private WebRequest request;
+
+    @Setup
+    public void setUp() {
+        Configurator.setLevel(AuditLogServiceImpl.AUDIT_LOGGER, Level.OFF);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        UserMapper userMapper = new UserMapperImpl(new RoleMapperImpl());
+        List<TaskDTO> tasks = BenchmarkData.tasks(50).stream()
+                .map(new TaskMapperImpl(new ProjectMapperImpl(userMapper), userMapper)::convertToDto).collect(Collectors.toList());
+        PageDTO<ProjectDTO> projects = new PageDTO<>(tasks.stream().map(TaskDTO::getProject).collect(Collectors.toList()), "cursor");
+        PageDTO<UserDTO> users = new PageDTO<>(tasks.stream().map(TaskDTO::getAssignedEmployee).collect(Collectors.toList()), "cursor");
+
+        ResourceVersion version = ResourceVersion.ofCollection(projects.getItems().stream()
+                .map(project -> new Object[]{project.getId(), project.getProjectCode()}).collect(Collectors.toList()));
+        projectController = new ProjectController(answering(ProjectService.class, Map.of(
+                "listProjectsPage", projects, "getProjectsPageVersion", version)), null, null);
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/project"));     // no validators sent: always a 200
+        userController = new UserController(answering(UserService.class, users));
+
+        auditLogService = new AuditLogServiceImpl(meterRegistry, 4096, 1.0, List.of(), 256);
+        auditLogService.start();
+        CurrentUserService currentUser = answering(CurrentUserService.class, "manager@cydeo.com");
+
+        AspectJProxyFactory audited = new AspectJProxyFactory(projectController);
+        audited.setProxyTargetClass(true);
+        audited.addAspect(new LoggingAspect(currentUser, auditLogService));
+        auditedProjectController = audited.getProxy();
+
+        AspectJProxyFactory timed = new AspectJProxyFactory(userController);
+        timed.setProxyTargetClass(true);
+        timed.addAspect(new PerformanceAspect(meterRegistry));
+        timedUserController = timed.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        auditLogService.stop();
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> projectsPlain() {
+        return projectController.getProjects(null, 50, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> projectsWithLoggingAspect() {
+        return auditedProjectController.getProjects(null, 50, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> usersPlain() {
+        return userController.getUsers(null, 50);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> usersWithPerformanceAspect() {
+        return timedUserController.getUsers(null, 50);
+    }
+
+    // every method of the service returns the same value; the benchmarks only call one
+    private static <T> T answering(Class<T> service, Object answer) {
+        return service.cast(Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[]{service}, (proxy, method, args) -> answer));
+    }
+
+    // one canned value per method name, for services the benchmarks call more than one method of
+    private static <T> T answering(Class<T> service, Map<String, Object> answers) {
+        return service.cast(Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[]{service},
+                (proxy, method, args) -> answers.get(method.getName())));
+    }
+
+}
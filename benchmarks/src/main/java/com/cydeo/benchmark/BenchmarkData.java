@@ -0,0 +1,71 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Detached entity graphs shaped like a task list page: every task has its project, manager, employee and roles set.
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Task> tasks(int count) {
+        Role managerRole = role(1L, "Manager");
+        Role employeeRole = role(2L, "Employee");
+        User manager = user(1L, "manager@cydeo.com", managerRole);
+        User employee = user(2L, "employee@cydeo.com", employeeRole);
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setId((long) i);
+            project.setProjectCode("PR" + i);
+            project.setProjectName("Project " + i);
+            project.setProjectDetail("Details of project " + i);
+            project.setProjectStatus(Status.OPEN);
+            project.setStartDate(LocalDate.now());
+            project.setEndDate(LocalDate.now().plusDays(30));
+            project.setAssignedManager(manager);
+
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTaskSubject("Subject " + i);
+            task.setTaskDetail("Detail of task " + i);
+            task.setTaskStatus(Status.OPEN);
+            task.setAssignedDate(LocalDate.now());
+            task.setProject(project);
+            task.setAssignedEmployee(employee);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static Role role(Long id, String description) {
+        Role role = new Role(description);
+        role.setId(id);
+        return role;
+    }
+
+    private static User user(Long id, String userName, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setUserName(userName);
+        user.setPassWord("$2a$10$hash");
+        user.setEnabled(true);
+        user.setPhone("5555555555");
+        user.setGender(Gender.MALE);
+        user.setRole(role);
+        return user;
+    }
+
+}
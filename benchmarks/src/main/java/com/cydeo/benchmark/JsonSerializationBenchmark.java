@@ -0,0 +1,63 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.mapper.ProjectMapperImpl;
+import com.cydeo.mapper.RoleMapperImpl;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.mapper.TaskMapperImpl;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.mapper.UserMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Response body cost of the task and project list endpoints: ResponseWrapper around a page of DTOs, written with an
+// ObjectMapper configured the way Spring MVC builds its own.
+// Run with: mvn -Pbenchmark install -Djmh.include=JsonSerializationBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ResponseWrapper taskPage;
+    private ResponseWrapper projectPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        UserMapper userMapper = new UserMapperImpl(new RoleMapperImpl());
+        ProjectMapperImpl projectMapper = new ProjectMapperImpl(userMapper);
+        TaskMapper taskMapper = new TaskMapperImpl(projectMapper, userMapper);
+
+        List<TaskDTO> tasks = BenchmarkData.tasks(pageSize).stream().map(taskMapper::convertToDto).collect(Collectors.toList());
+        List<ProjectDTO> projects = tasks.stream().map(TaskDTO::getProject).collect(Collectors.toList());
+        taskPage = new ResponseWrapper("Tasks are successfully retrieved", tasks, HttpStatus.OK);
+        projectPage = new ResponseWrapper("Projects are successfully retrieved", projects, HttpStatus.OK);
+    }
+
+    @Benchmark
+    public byte[] taskList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskPage);
+    }
+
+    @Benchmark
+    public byte[] projectList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projectPage);
+    }
+
+}
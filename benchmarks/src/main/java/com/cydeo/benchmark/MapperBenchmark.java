@@ -0,0 +1,134 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.mapper.ProjectMapper;
+import com.cydeo.mapper.ProjectMapperImpl;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.RoleMapperImpl;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.mapper.TaskMapperImpl;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.mapper.UserMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO for a list endpoint sized page, for each of the four mappers. The modelMapper* methods are the
+// reflective MapperUtil.convert the generated MapStruct mappers replaced, kept as the baseline.
+// Run with: mvn -Pbenchmark install -Djmh.include=MapperBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"1", "50"})
+    private int pageSize;
+
+    private List<Task> tasks;
+    private List<Project> projects;
+    private List<User> users;
+    private List<Role> roles;
+
+    private ModelMapper modelMapper;
+    private TaskMapper taskMapper;
+    private ProjectMapper projectMapper;
+    private UserMapper userMapper;
+    private RoleMapper roleMapper;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        roleMapper = new RoleMapperImpl();
+        userMapper = new UserMapperImpl(roleMapper);
+        projectMapper = new ProjectMapperImpl(userMapper);
+        taskMapper = new TaskMapperImpl(projectMapper, userMapper);
+
+        tasks = BenchmarkData.tasks(pageSize);
+        projects = new ArrayList<>();
+        users = new ArrayList<>();
+        roles = new ArrayList<>();
+        for (Task task : tasks) {
+            projects.add(task.getProject());
+            users.add(task.getAssignedEmployee());
+            roles.add(task.getAssignedEmployee().getRole());
+        }
+    }
+
+    @Benchmark
+    public List<TaskDTO> modelMapperTask() {
+        return modelMap(tasks, TaskDTO.class);
+    }
+
+    @Benchmark
+    public List<TaskDTO> mapStructTask() {
+        List<TaskDTO> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(taskMapper.convertToDto(task));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ProjectDTO> modelMapperProject() {
+        return modelMap(projects, ProjectDTO.class);
+    }
+
+    @Benchmark
+    public List<ProjectDTO> mapStructProject() {
+        List<ProjectDTO> result = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            result.add(projectMapper.convertToDto(project));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserDTO> modelMapperUser() {
+        return modelMap(users, UserDTO.class);
+    }
+
+    @Benchmark
+    public List<UserDTO> mapStructUser() {
+        List<UserDTO> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            result.add(userMapper.convertToDto(user));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<RoleDTO> modelMapperRole() {
+        return modelMap(roles, RoleDTO.class);
+    }
+
+    @Benchmark
+    public List<RoleDTO> mapStructRole() {
+        List<RoleDTO> result = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            result.add(roleMapper.convertToDto(role));
+        }
+        return result;
+    }
+
+    private <S, T> List<T> modelMap(List<S> sources, Class<T> target) {
+        List<T> result = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            result.add(modelMapper.map(source, target));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.cydeo.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Hashes per second per core for each BCrypt cost factor (ticketing.password-hashing.strength). Every +1 halves the
+// throughput, so pool-size x this number is the onboarding rate the hashing pool can sustain.
+// Run with: mvn -Pbenchmark install -Djmh.include=PasswordHashingBenchmark
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        hash = passwordEncoder.encode("Abc1");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("Abc1");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("Abc1", hash);
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.TicketingProjectRestApplication;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.RoleRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.ProjectService;
+import com.cydeo.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TaskServiceImpl / ProjectServiceImpl list methods end to end (repository, entity graph, mapping) on the real
+// application context backed by an embedded H2 database. Keycloak is configured but never called.
+// Run with: mvn -Pbenchmark install -Djmh.include=ServiceListBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceListBenchmark {
+
+    @Param({"100", "2000"})
+    private int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private ProjectService projectService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicketingProjectRestApplication.class).run(    // arguments win over application.properties
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never",
+                "--ticketing.keycloak-outbox.poll-interval-ms=3600000",
+                "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        projectService = context.getBean(ProjectService.class);
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDTO> listAllTasks() {
+        return taskService.listAllTasks();
+    }
+
+    @Benchmark
+    public PageDTO<TaskDTO> listTasksPage() {
+        return taskService.listTasksPage(null, 50);
+    }
+
+    @Benchmark
+    public List<ProjectDTO> listAllProjects() {
+        return projectService.listAllProjects();
+    }
+
+    @Benchmark
+    public PageDTO<ProjectDTO> listProjectsPage() {
+        return projectService.listProjectsPage(null, 50);
+    }
+
+    // ten tasks per project, all assigned to the same manager and employee
+    private void seed() {
+        Role managerRole = context.getBean(RoleRepository.class).save(new Role("Manager"));
+        Role employeeRole = context.getBean(RoleRepository.class).save(new Role("Employee"));
+        List<User> users = new ArrayList<>();
+        for (Task task : BenchmarkData.tasks(1)) {
+            User manager = task.getProject().getAssignedManager();
+            User employee = task.getAssignedEmployee();
+            manager.setId(null);
+            manager.setRole(managerRole);
+            employee.setId(null);
+            employee.setRole(employeeRole);
+            users.add(manager);
+            users.add(employee);
+        }
+        users = context.getBean(UserRepository.class).saveAll(users);
+
+        List<Task> tasks = BenchmarkData.tasks(taskCount);
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            task.setId(null);
+            task.setAssignedEmployee(users.get(1));
+            if (i % 10 == 0) {
+                Project project = task.getProject();
+                project.setId(null);
+                project.setAssignedManager(users.get(0));
+                projects.add(project);
+            }
+            task.setProject(projects.get(projects.size() - 1));
+        }
+        context.getBean(ProjectRepository.class).saveAll(projects);
+        context.getBean(TaskRepository.class).saveAll(tasks);
+    }
+
+}
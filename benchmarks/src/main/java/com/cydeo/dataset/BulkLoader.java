@@ -0,0 +1,40 @@
+package com.cydeo.dataset;
+
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Writes generated rows straight to a table, bypassing JPA: COPY on PostgreSQL, multi-row INSERT anywhere else (H2).
+public interface BulkLoader {
+
+    TableWriter open(String table, String... columns) throws SQLException;
+
+    Connection getConnection();
+
+    // the next nextval returns value; generated ids are above every sequence's pooled range afterwards
+    default void restartSequence(String sequence, long value) throws SQLException {
+        try (Statement statement = getConnection().createStatement()) {
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+        }
+    }
+
+    static BulkLoader forConnection(Connection connection) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new CopyBulkLoader(connection);
+        }
+        return new MultiRowInsertBulkLoader(connection);
+    }
+
+    interface TableWriter extends AutoCloseable {
+
+        void add(Object... values) throws SQLException;
+
+        long getCount();
+
+        @Override
+        void close() throws SQLException;
+    }
+
+}
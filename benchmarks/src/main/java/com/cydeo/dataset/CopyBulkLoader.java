@@ -0,0 +1,99 @@
+package com.cydeo.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// One COPY ... FROM STDIN per table, rows streamed as CSV. Nothing is buffered beyond the writer, so table size is
+// bounded by the database, not by the generator's heap.
+class CopyBulkLoader implements BulkLoader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Connection connection;
+
+    CopyBulkLoader(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public TableWriter open(String table, String... columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return new CsvTableWriter(writer, columns.length);
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    private static class CsvTableWriter implements TableWriter {
+
+        private final Writer writer;
+        private final int columnCount;
+        private long count;
+
+        CsvTableWriter(Writer writer, int columnCount) {
+            this.writer = writer;
+            this.columnCount = columnCount;
+        }
+
+        @Override
+        public void add(Object... values) throws SQLException {
+            if (values.length != columnCount) {
+                throw new IllegalArgumentException("Expected " + columnCount + " values, got " + values.length);
+            }
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    write(values[i]);
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new SQLException("COPY failed", e);
+            }
+            count++;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                writer.close();     // ends the COPY
+            } catch (IOException e) {
+                throw new SQLException("COPY failed", e);
+            }
+        }
+
+        // unquoted empty is NULL in CSV COPY, so every string is quoted (an empty string stays an empty string)
+        private void write(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof CharSequence || value instanceof Enum) {
+                String text = value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value.toString());   // numbers, booleans and java.time values in ISO form
+            }
+        }
+    }
+
+}
@@ -0,0 +1,303 @@
+package com.cydeo.dataset;
+
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Bulk-loads a production-sized dataset into an existing schema (the application creates it on startup):
+// users with Admin/Manager/Employee roles, projects owned by managers and tasks spread over them, plus the matching
+// project_task_stats rows. Rows bypass JPA, see BulkLoader.
+//
+// Shape: a few projects carry most tasks (the project index is drawn from a squared uniform), tasks of completed
+// projects are all COMPLETE, tasks of soft-deleted projects are soft-deleted too. Every table draws from its own
+// random stream derived from dataset.seed, so growing one table does not change the others.
+//
+// Run with: mvn -f benchmarks/pom.xml -Pdataset verify -Ddataset.url=jdbc:postgresql://localhost:5432/ticketing-app
+// (-Ddataset.users / projects / tasks / seed, see DatasetSpec). Rerunning the same seed needs a fresh database,
+// user names and project codes embed the seed and are unique.
+public class DatasetGenerator {
+
+    // BCrypt(10) of "Abc1": hashing every user at cost 10 would take longer than loading all the tasks
+    private static final String PASSWORD_HASH = "$2a$10$omjQNaDJfT7gyAajg8Zn7.PjR79Ur0AG5WDPJVDKs/QhLE4csUC8S";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2022, 1, 1, 9, 0);
+    private static final long AUDIT_USER_ID = 1L;
+    // the entities' pooled sequences hand out increment-sized blocks below the value they return
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private static final String[] FIRST_NAMES = {"Mike", "Ozzy", "Sam", "Anna", "Maria", "John", "Emily", "Omar", "Lena",
+            "David", "Sofia", "Ahmet", "Nina", "Paul", "Grace", "Ivan"};
+    private static final String[] LAST_NAMES = {"Smith", "Brown", "Kaya", "Garcia", "Muller", "Rossi", "Novak", "Chen",
+            "Silva", "Jones", "Yilmaz", "Petrov", "Martin", "Lee"};
+    private static final String[] TASK_SUBJECTS = {"Implement endpoint", "Fix defect", "Write tests", "Review pull request",
+            "Update documentation", "Database migration", "Performance tuning", "UI changes"};
+
+    private static final String[] AUDIT_COLUMNS = {"id", "insert_date_time", "insert_user_id", "is_deleted",
+            "last_update_date_time", "last_update_user_id"};
+
+    private final DatasetSpec spec;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        DatasetSpec spec = DatasetSpec.fromSystemProperties();
+        try (Connection connection = DriverManager.getConnection(
+                System.getProperty("dataset.url", "jdbc:postgresql://localhost:5432/ticketing-app"),
+                System.getProperty("dataset.username", "postgresprojects"),
+                System.getProperty("dataset.password", "1997"))) {
+            new DatasetGenerator(spec).generate(connection);
+        }
+    }
+
+    public void generate(Connection connection) throws SQLException {
+        if (spec.getUsers() < 2 || (spec.getTasks() > 0 && spec.getProjects() == 0)) {
+            throw new IllegalArgumentException("Tasks need projects, projects need at least one manager and one employee");
+        }
+        BulkLoader loader = BulkLoader.forConnection(connection);
+        Map<String, Long> roles = roles(loader);
+
+        long start = System.nanoTime();
+        Users users = loadUsers(loader, roles);
+        report("users", users.count, start);
+
+        start = System.nanoTime();
+        Projects projects = loadProjects(loader, users);
+        report("projects", projects.ids.length, start);
+
+        start = System.nanoTime();
+        long tasks = loadTasks(loader, users, projects);
+        report("tasks", tasks, start);
+
+        start = System.nanoTime();
+        long stats = loadStats(loader, projects);
+        report("project_task_stats", stats, start);
+
+        for (String table : new String[]{"role", "user", "project", "task"}) {
+            loader.restartSequence(table + "_seq", maxId(connection, table + "s") + SEQUENCE_INCREMENT * 2L);
+        }
+    }
+
+    private Map<String, Long> roles(BulkLoader loader) throws SQLException {
+        Map<String, Long> roles = new HashMap<>();
+        try (Statement statement = loader.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id, description FROM roles")) {
+            while (resultSet.next()) {
+                roles.putIfAbsent(resultSet.getString(2), resultSet.getLong(1));
+            }
+        }
+        long nextId = maxId(loader.getConnection(), "roles") + 1;
+        try (BulkLoader.TableWriter writer = loader.open("roles", columns("description"))) {
+            for (String role : new String[]{"Admin", "Manager", "Employee"}) {
+                if (!roles.containsKey(role)) {
+                    roles.put(role, nextId);
+                    writer.add(audit(nextId++, EPOCH, false, role));
+                }
+            }
+        }
+        return roles;
+    }
+
+    private Users loadUsers(BulkLoader loader, Map<String, Long> roles) throws SQLException {
+        SplittableRandom random = random(1);
+        Users users = new Users();
+        long id = maxId(loader.getConnection(), "users") + 1;
+
+        try (BulkLoader.TableWriter writer = loader.open("users", columns("enabled", "first_name", "last_name",
+                "user_name", "pass_word", "gender", "phone", "role_id"))) {
+            for (int i = 0; i < spec.getUsers(); i++, id++) {
+                String role = i == 0 ? "Manager" : i == 1 ? "Employee" : role(random);    // at least one of each to assign work to
+                boolean deleted = i > 1 && random.nextDouble() < spec.getDeletedUserRate();
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+                writer.add(audit(id, EPOCH.plusMinutes(random.nextInt(500_000)), deleted,
+                        !deleted && random.nextDouble() < 0.95,
+                        firstName,
+                        lastName,
+                        String.format("%s.%s.%d.s%d@cydeo.test", firstName, lastName, i, spec.getSeed()).toLowerCase(Locale.ROOT),
+                        PASSWORD_HASH,
+                        random.nextBoolean() ? Gender.MALE : Gender.FEMALE,
+                        String.format("+1%010d", random.nextLong(10_000_000_000L)),
+                        roles.get(role)));
+
+                if (!deleted && role.equals("Manager")) {
+                    users.managers.add(id);
+                } else if (!deleted && role.equals("Employee")) {
+                    users.employees.add(id);
+                }
+            }
+            users.count = writer.getCount();
+        }
+        return users;
+    }
+
+    private Projects loadProjects(BulkLoader loader, Users users) throws SQLException {
+        SplittableRandom random = random(2);
+        Projects projects = new Projects(spec.getProjects());
+        long id = maxId(loader.getConnection(), "projects") + 1;
+
+        try (BulkLoader.TableWriter writer = loader.open("projects", columns("project_code", "project_name",
+                "project_detail", "project_status", "start_date", "end_date", "manager_id"))) {
+            for (int i = 0; i < spec.getProjects(); i++, id++) {
+                double roll = random.nextDouble();
+                Status status = roll < spec.getCompleteProjectRate() ? Status.COMPLETE
+                        : random.nextDouble() < 0.4 ? Status.OPEN : Status.IN_PROGRESS;
+                boolean deleted = random.nextDouble() < spec.getDeletedProjectRate();
+                LocalDate startDate = EPOCH.toLocalDate().plusDays(random.nextInt(1000));
+                LocalDate endDate = startDate.plusDays(30 + random.nextInt(335));
+
+                writer.add(audit(id, startDate.atTime(9, 0), deleted,
+                        String.format("S%d-P%06d", spec.getSeed(), i),
+                        "Project " + i,
+                        "Generated project " + i + " of seed " + spec.getSeed(),
+                        status,
+                        startDate,
+                        endDate,
+                        users.managers.get(random.nextInt(users.managers.size()))));
+
+                projects.ids[i] = id;
+                projects.statuses[i] = status;
+                projects.deleted[i] = deleted;
+                projects.startDates[i] = startDate;
+            }
+        }
+        return projects;
+    }
+
+    private long loadTasks(BulkLoader loader, Users users, Projects projects) throws SQLException {
+        SplittableRandom random = random(3);
+        long id = maxId(loader.getConnection(), "tasks") + 1;
+
+        try (BulkLoader.TableWriter writer = loader.open("tasks", columns("task_subject", "task_detail", "task_status",
+                "assigned_date", "assigned_employee_id", "project_id"))) {
+            for (long i = 0; i < spec.getTasks(); i++, id++) {
+                double skew = random.nextDouble();
+                int project = (int) (skew * skew * projects.ids.length);
+                Status status = taskStatus(projects.statuses[project], random);
+                boolean deleted = projects.deleted[project] || random.nextDouble() < spec.getDeletedTaskRate();
+                LocalDate assignedDate = projects.startDates[project].plusDays(random.nextInt(60));
+
+                writer.add(audit(id, assignedDate.atTime(10, 0), deleted,
+                        TASK_SUBJECTS[random.nextInt(TASK_SUBJECTS.length)] + " #" + i,
+                        "Generated task " + i + " of seed " + spec.getSeed(),
+                        status,
+                        assignedDate,
+                        users.employees.get(random.nextInt(users.employees.size())),
+                        projects.ids[project]));
+
+                if (!deleted) {
+                    projects.counts[project][status.ordinal()]++;
+                }
+            }
+            return writer.getCount();
+        }
+    }
+
+    // one row per live project, as ProjectTaskStatsService.reconcile() would rebuild it
+    private long loadStats(BulkLoader loader, Projects projects) throws SQLException {
+        try (BulkLoader.TableWriter writer = loader.open("project_task_stats",
+                "project_id", "open_count", "in_progress_count", "complete_count")) {
+            for (int i = 0; i < projects.ids.length; i++) {
+                if (!projects.deleted[i]) {
+                    long[] counts = projects.counts[i];
+                    writer.add(projects.ids[i], counts[Status.OPEN.ordinal()], counts[Status.IN_PROGRESS.ordinal()],
+                            counts[Status.COMPLETE.ordinal()]);
+                }
+            }
+            return writer.getCount();
+        }
+    }
+
+    private String role(SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll < spec.getAdminRate()) {
+            return "Admin";
+        }
+        return roll < spec.getAdminRate() + spec.getManagerRate() ? "Manager" : "Employee";
+    }
+
+    private static Status taskStatus(Status projectStatus, SplittableRandom random) {
+        if (projectStatus == Status.COMPLETE) {
+            return Status.COMPLETE;
+        }
+        double roll = random.nextDouble();
+        if (projectStatus == Status.OPEN) {
+            return roll < 0.6 ? Status.OPEN : roll < 0.9 ? Status.IN_PROGRESS : Status.COMPLETE;
+        }
+        return roll < 0.3 ? Status.OPEN : roll < 0.7 ? Status.IN_PROGRESS : Status.COMPLETE;
+    }
+
+    private SplittableRandom random(int stream) {
+        return new SplittableRandom(spec.getSeed() * 1_000_003L + stream);
+    }
+
+    private static String[] columns(String... columns) {
+        String[] all = new String[AUDIT_COLUMNS.length + columns.length];
+        System.arraycopy(AUDIT_COLUMNS, 0, all, 0, AUDIT_COLUMNS.length);
+        System.arraycopy(columns, 0, all, AUDIT_COLUMNS.length, columns.length);
+        return all;
+    }
+
+    private static Object[] audit(long id, LocalDateTime inserted, boolean deleted, Object... values) {
+        Object[] row = new Object[AUDIT_COLUMNS.length + values.length];
+        row[0] = id;
+        row[1] = inserted;
+        row[2] = AUDIT_USER_ID;
+        row[3] = deleted;
+        row[4] = inserted;
+        row[5] = AUDIT_USER_ID;
+        System.arraycopy(values, 0, row, AUDIT_COLUMNS.length, values.length);
+        return row;
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM " + table);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void report(String table, long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-20s %,12d rows %8.1f s %,12.0f rows/s%n", table, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    private static class Users {
+        private final List<Long> managers = new ArrayList<>();
+        private final List<Long> employees = new ArrayList<>();
+        private long count;
+    }
+
+    private static class Projects {
+        private final long[] ids;
+        private final Status[] statuses;
+        private final boolean[] deleted;
+        private final LocalDate[] startDates;
+        private final long[][] counts;
+
+        Projects(int size) {
+            ids = new long[size];
+            statuses = new Status[size];
+            deleted = new boolean[size];
+            startDates = new LocalDate[size];
+            counts = new long[size][Status.values().length];
+        }
+    }
+
+}
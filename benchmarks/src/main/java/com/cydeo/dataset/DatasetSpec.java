@@ -0,0 +1,94 @@
+package com.cydeo.dataset;
+
+// Size and shape of a generated dataset, read from -Ddataset.* system properties. The same spec and seed always
+// produce the same rows (ids are offset by whatever is already in the tables).
+public class DatasetSpec {
+
+    private final long seed;
+    private final int users;
+    private final int projects;
+    private final long tasks;
+    private final double managerRate;
+    private final double adminRate;
+    private final double deletedUserRate;
+    private final double deletedProjectRate;
+    private final double deletedTaskRate;
+    private final double completeProjectRate;
+
+    public DatasetSpec(long seed, int users, int projects, long tasks, double managerRate, double adminRate,
+                       double deletedUserRate, double deletedProjectRate, double deletedTaskRate, double completeProjectRate) {
+        this.seed = seed;
+        this.users = users;
+        this.projects = projects;
+        this.tasks = tasks;
+        this.managerRate = managerRate;
+        this.adminRate = adminRate;
+        this.deletedUserRate = deletedUserRate;
+        this.deletedProjectRate = deletedProjectRate;
+        this.deletedTaskRate = deletedTaskRate;
+        this.completeProjectRate = completeProjectRate;
+    }
+
+    public static DatasetSpec fromSystemProperties() {
+        return new DatasetSpec(
+                Long.getLong("dataset.seed", 42),
+                Integer.getInteger("dataset.users", 10_000),
+                Integer.getInteger("dataset.projects", 50_000),
+                Long.getLong("dataset.tasks", 5_000_000),
+                rate("dataset.manager-rate", 0.10),
+                rate("dataset.admin-rate", 0.01),
+                rate("dataset.deleted-user-rate", 0.02),
+                rate("dataset.deleted-project-rate", 0.03),
+                rate("dataset.deleted-task-rate", 0.05),
+                rate("dataset.complete-project-rate", 0.30));
+    }
+
+    private static double rate(String property, double defaultValue) {
+        double rate = Double.parseDouble(System.getProperty(property, String.valueOf(defaultValue)));
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException(property + " must be between 0 and 1: " + rate);
+        }
+        return rate;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public double getManagerRate() {
+        return managerRate;
+    }
+
+    public double getAdminRate() {
+        return adminRate;
+    }
+
+    public double getDeletedUserRate() {
+        return deletedUserRate;
+    }
+
+    public double getDeletedProjectRate() {
+        return deletedProjectRate;
+    }
+
+    public double getDeletedTaskRate() {
+        return deletedTaskRate;
+    }
+
+    public double getCompleteProjectRate() {
+        return completeProjectRate;
+    }
+
+}
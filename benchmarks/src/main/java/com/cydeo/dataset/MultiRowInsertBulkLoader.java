@@ -0,0 +1,105 @@
+package com.cydeo.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// INSERT INTO t (...) VALUES (...), (...), ... with up to ROWS_PER_STATEMENT rows per statement, each statement in its
+// own transaction. Used where COPY is not available (H2).
+class MultiRowInsertBulkLoader implements BulkLoader {
+
+    private static final int ROWS_PER_STATEMENT = 1000;
+    private static final int MAX_PARAMETERS = 32767;
+
+    private final Connection connection;
+
+    MultiRowInsertBulkLoader(Connection connection) throws SQLException {
+        this.connection = connection;
+        connection.setAutoCommit(true);
+    }
+
+    @Override
+    public TableWriter open(String table, String... columns) {
+        return new InsertTableWriter(table, columns);
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    private class InsertTableWriter implements TableWriter {
+
+        private final String table;
+        private final String[] columns;
+        private final int rowsPerStatement;
+        private final List<Object[]> pending = new ArrayList<>();
+        private PreparedStatement fullStatement;
+        private long count;
+
+        InsertTableWriter(String table, String[] columns) {
+            this.table = table;
+            this.columns = columns;
+            this.rowsPerStatement = Math.min(ROWS_PER_STATEMENT, MAX_PARAMETERS / columns.length);
+        }
+
+        @Override
+        public void add(Object... values) throws SQLException {
+            if (values.length != columns.length) {
+                throw new IllegalArgumentException("Expected " + columns.length + " values, got " + values.length);
+            }
+            pending.add(values);
+            count++;
+            if (pending.size() == rowsPerStatement) {
+                if (fullStatement == null) {
+                    fullStatement = connection.prepareStatement(sql(rowsPerStatement));     // reused for every full chunk
+                }
+                flush(fullStatement);
+            }
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (!pending.isEmpty()) {
+                    try (PreparedStatement statement = connection.prepareStatement(sql(pending.size()))) {
+                        flush(statement);
+                    }
+                }
+            } finally {
+                if (fullStatement != null) {
+                    fullStatement.close();
+                }
+            }
+        }
+
+        private void flush(PreparedStatement statement) throws SQLException {
+            int index = 1;
+            for (Object[] row : pending) {
+                for (Object value : row) {
+                    statement.setObject(index++, value instanceof Enum ? ((Enum<?>) value).name() : value);
+                }
+            }
+            statement.executeUpdate();
+            pending.clear();
+        }
+
+        private String sql(int rows) {
+            String row = "(" + "?, ".repeat(columns.length - 1) + "?)";
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(String.join(", ", columns)).append(") VALUES ").append(row);
+            for (int i = 1; i < rows; i++) {
+                sql.append(", ").append(row);
+            }
+            return sql.toString();
+        }
+    }
+
+}
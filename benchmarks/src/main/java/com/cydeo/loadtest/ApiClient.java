@@ -0,0 +1,96 @@
+package com.cydeo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Builds authenticated requests against the running application. One token per role, minted once for the seeded
+// data.sql users: mike (Admin), ozzy (Manager) and sam (Employee).
+public class ApiClient {
+
+    public enum Role {
+        ADMIN("Admin", "mike"),
+        MANAGER("Manager", "ozzy"),
+        EMPLOYEE("Employee", "sam");
+
+        private final String roleName;
+        private final String userName;
+
+        Role(String roleName, String userName) {
+            this.roleName = roleName;
+            this.userName = userName;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Map<Role, String> authorizations = new EnumMap<>(Role.class);
+
+    public ApiClient(String baseUrl, LocalTokenIssuer issuer) {
+        this.baseUrl = baseUrl;
+        for (Role role : Role.values()) {
+            authorizations.put(role, "Bearer " + issuer.mint(role.userName, role.roleName));
+        }
+    }
+
+    public HttpRequest get(Role role, String path) {
+        return request(role, path).GET().build();
+    }
+
+    public HttpRequest post(Role role, String path, Object body) {
+        return request(role, path).POST(HttpRequest.BodyPublishers.ofString(json(body))).build();
+    }
+
+    public HttpRequest put(Role role, String path, Object body) {
+        return request(role, path).PUT(HttpRequest.BodyPublishers.ofString(json(body))).build();
+    }
+
+    public int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // for the seeding calls: fails on any non-2xx and returns the "data" node of the ResponseWrapper
+    public JsonNode exchange(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " -> " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body()).path("data");
+    }
+
+    private HttpRequest.Builder request(Role role, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", authorizations.get(role))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
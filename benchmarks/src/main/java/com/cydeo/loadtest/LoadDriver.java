@@ -0,0 +1,209 @@
+package com.cydeo.loadtest;
+
+import com.cydeo.TicketingProjectRestApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Offline load test: starts the application with the loadtest profile (H2 in PostgreSQL mode, tokens from
+// LocalTokenIssuer instead of Keycloak), seeds it through the API and replays the LoadMix from loadtest.concurrency
+// workers. Nothing is recorded during the warmup; afterwards every response lands in a per-operation HdrHistogram.
+//
+// With loadtest.target-rps each worker sends on a fixed schedule and latency is measured from the scheduled send
+// time, so a stalled server shows up in the percentiles instead of silently lowering the request rate.
+//
+// Run from the parent directory with: mvn -Ploadtest install -Dloadtest.concurrency=32 -Dloadtest.duration-seconds=60
+public class LoadDriver {
+
+    // passed to the application as well, the adapter checks tokens against the issuer's realm
+    private static final String REALM = "cydeo-dev";
+    private static final String CLIENT_ID = "ticketing-app";
+
+    private static final int TRANSPORT_ERROR = -1;
+
+    private final LoadTestSettings settings;
+    private final ApiClient client;
+    private final LoadMix mix;
+
+    public LoadDriver(LoadTestSettings settings, ApiClient client, LoadMix mix) {
+        this.settings = settings;
+        this.client = client;
+        this.mix = mix;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        LocalTokenIssuer issuer = new LocalTokenIssuer(REALM, CLIENT_ID);
+        issuer.start();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketingProjectRestApplication.class)
+                .profiles("loadtest")
+                .run("--keycloak.auth-server-url=" + issuer.authServerUrl(),
+                        "--keycloak.realm=" + REALM,
+                        "--keycloak.resource=" + CLIENT_ID,
+                        "--keycloak.realm-key=" + issuer.realmPublicKey());
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ApiClient client = new ApiClient("http://localhost:" + port, issuer);
+            LoadMix mix = LoadMix.seed(client, settings);
+
+            Map<String, OperationStats> results = new LoadDriver(settings, client, mix).run();
+
+            print(results, System.out);
+            writeCsv(results, settings.getResultsDir());
+        } finally {
+            context.close();
+            issuer.stop();
+        }
+    }
+
+    public Map<String, OperationStats> run() throws Exception {
+        long intervalNanos = settings.getTargetRps() > 0
+                ? TimeUnit.SECONDS.toNanos(settings.getConcurrency()) / settings.getTargetRps() : 0;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getConcurrency());
+        List<Future<Map<String, OperationStats>>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.getConcurrency(); i++) {
+            long offset = intervalNanos * i / settings.getConcurrency();     // spread the schedules over one interval
+            futures.add(workers.submit(() -> work(start + offset, intervalNanos, measureFrom, end)));
+        }
+
+        Map<String, OperationStats> merged = new TreeMap<>();
+        for (Future<Map<String, OperationStats>> future : futures) {
+            future.get().forEach((name, stats) -> merged.computeIfAbsent(name, OperationStats::new).add(stats));
+        }
+        workers.shutdown();
+        merged.values().forEach(stats -> stats.measuredNanos = end - measureFrom);
+        return merged;
+    }
+
+    // one worker, its histograms are only touched by its own thread and merged at the end
+    private Map<String, OperationStats> work(long firstSend, long intervalNanos, long measureFrom, long end) throws InterruptedException {
+        Map<String, OperationStats> stats = new TreeMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long scheduled = firstSend;
+
+        while (true) {
+            long sendAt;
+            if (intervalNanos > 0) {
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+                sendAt = scheduled;
+                scheduled += intervalNanos;
+            } else {
+                sendAt = System.nanoTime();
+            }
+            if (sendAt >= end) {
+                return stats;
+            }
+
+            LoadMix.Operation operation = mix.pick(random);
+            int status;
+            try {
+                status = client.send(operation.request(random));
+            } catch (IOException e) {
+                status = TRANSPORT_ERROR;
+            }
+            long latency = System.nanoTime() - sendAt;
+
+            if (sendAt >= measureFrom) {
+                stats.computeIfAbsent(operation.getName(), OperationStats::new).record(latency, status);
+            }
+        }
+    }
+
+    private static void print(Map<String, OperationStats> results, PrintStream out) {
+        OperationStats total = new OperationStats("TOTAL");
+        results.values().forEach(total::add);
+
+        out.printf(Locale.ROOT, "%n%-16s %9s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (OperationStats stats : results.values()) {
+            out.println(stats.format());
+        }
+        total.measuredNanos = results.values().stream().mapToLong(stats -> stats.measuredNanos).max().orElse(0);
+        out.println(total.format());
+        results.values().stream().filter(stats -> !stats.errors.isEmpty())
+                .forEach(stats -> out.println(stats.name + " errors by status: " + stats.errors));
+    }
+
+    private static void writeCsv(Map<String, OperationStats> results, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("operation,requests,rps,errors,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            for (OperationStats stats : results.values()) {
+                writer.println(stats.csv());
+            }
+        }
+        System.out.println("Results written to " + file.toAbsolutePath());
+    }
+
+    static class OperationStats {
+
+        private final String name;
+        private final Histogram histogram = new Histogram(3);     // auto-resizing, nanoseconds
+        private final Map<Integer, Long> errors = new TreeMap<>();
+        private long measuredNanos;
+
+        OperationStats(String name) {
+            this.name = name;
+        }
+
+        void record(long latencyNanos, int status) {
+            histogram.recordValue(latencyNanos);
+            if (status == TRANSPORT_ERROR || status >= 400) {
+                errors.merge(status, 1L, Long::sum);
+            }
+        }
+
+        void add(OperationStats other) {
+            histogram.add(other.histogram);
+            other.errors.forEach((status, count) -> errors.merge(status, count, Long::sum));
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        double rps() {
+            return measuredNanos == 0 ? 0 : histogram.getTotalCount() * 1e9 / measuredNanos;
+        }
+
+        String format() {
+            return String.format(Locale.ROOT, "%-16s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f", name, histogram.getTotalCount(), rps(), errorCount(),
+                    millis(50), millis(90), millis(99), millis(99.9), histogram.getMaxValue() / 1e6);
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%s,%d,%.1f,%d,%.3f,%.3f,%.3f,%.3f,%.3f", name, histogram.getTotalCount(), rps(), errorCount(),
+                    millis(50), millis(90), millis(99), millis(99.9), histogram.getMaxValue() / 1e6);
+        }
+
+        private double millis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.cydeo.loadtest;
+
+import com.cydeo.loadtest.ApiClient.Role;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+// The Project/Task/User traffic a run replays. seed() creates the projects and tasks through the API itself, so every
+// id an operation picks exists; pick() draws operations in proportion to their weights.
+public class LoadMix {
+
+    public static class Operation {
+
+        private final String name;
+        private final Function<Random, HttpRequest> request;
+
+        Operation(String name, Function<Random, HttpRequest> request) {
+            this.name = name;
+            this.request = request;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HttpRequest request(Random random) {
+            return request.apply(random);
+        }
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private LoadMix(Map<String, Operation> available, Map<String, Integer> weights) {
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            Operation operation = available.get(weight.getKey());
+            if (operation == null) {
+                throw new IllegalArgumentException("Unknown operation " + weight.getKey() + ", expected one of " + available.keySet());
+            }
+            if (weight.getValue() > 0) {
+                total += weight.getValue();
+                operations.add(operation);
+                cumulative.add(total);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+        this.totalWeight = total;
+    }
+
+    public static LoadMix seed(ApiClient client, LoadTestSettings settings) throws IOException, InterruptedException {
+        Map<String, Long> userIds = new HashMap<>();
+        for (JsonNode user : client.exchange(client.get(Role.ADMIN, "/api/v1/user?size=200"))) {
+            userIds.put(user.path("userName").asText(), user.path("id").asLong());
+        }
+        Long managerId = userIds.get(Role.MANAGER.getUserName());
+        Long employeeId = userIds.get(Role.EMPLOYEE.getUserName());
+
+        List<String> projectCodes = new ArrayList<>();
+        List<Long> projectIds = new ArrayList<>();
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < settings.getSeedProjects(); i++) {
+            String code = "LT" + i;
+            client.exchange(client.post(Role.MANAGER, "/api/v1/project", project(code, managerId)));
+            Long projectId = client.exchange(client.get(Role.MANAGER, "/api/v1/project/" + code)).path("id").asLong();
+            projectCodes.add(code);
+            projectIds.add(projectId);
+
+            List<Map<String, Object>> tasks = new ArrayList<>();
+            for (int j = 0; j < settings.getTasksPerProject(); j++) {
+                tasks.add(task(null, projectId, employeeId, "Task " + j + " of " + code, null));
+            }
+            List<Map<String, Object>> completed = new ArrayList<>();
+            for (JsonNode result : client.exchange(client.post(Role.MANAGER, "/api/v1/task/batch", tasks))) {
+                long taskId = result.path("id").asLong();
+                taskIds.add(taskId);
+                if (result.path("index").asInt() % 4 == 0) {     // a quarter completed, so the employee archive has rows
+                    completed.add(task(taskId, projectId, employeeId, "Task " + result.path("index").asInt() + " of " + code, "COMPLETE"));
+                }
+            }
+            if (!completed.isEmpty()) {
+                client.exchange(client.put(Role.MANAGER, "/api/v1/task/batch", completed));
+            }
+        }
+
+        List<String> userNames = new ArrayList<>(userIds.keySet());
+        Map<String, Operation> available = new LinkedHashMap<>();
+        add(available, "listProjects", random -> client.get(Role.MANAGER, "/api/v1/project?size=50"));
+        add(available, "getProject", random -> client.get(Role.MANAGER, "/api/v1/project/" + any(projectCodes, random)));
+        add(available, "projectStatus", random -> client.get(Role.MANAGER, "/api/v1/project/manager/project-status"));
+        add(available, "listTasks", random -> client.get(Role.MANAGER, "/api/v1/task?size=50"));
+        add(available, "getTask", random -> client.get(Role.MANAGER, "/api/v1/task/" + any(taskIds, random)));
+        add(available, "pendingTasks", random -> client.get(Role.MANAGER, "/api/v1/task/employee/pending-tasks"));
+        add(available, "employeeArchive", random -> client.get(Role.EMPLOYEE, "/api/v1/task/employee/archive"));
+        add(available, "listUsers", random -> client.get(Role.ADMIN, "/api/v1/user?size=50"));
+        add(available, "getUser", random -> client.get(Role.ADMIN, "/api/v1/user/" + any(userNames, random)));
+        add(available, "createTask", random -> client.post(Role.MANAGER, "/api/v1/task",
+                task(null, any(projectIds, random), employeeId, "Load test task", "Created by the load driver", null)));
+
+        return new LoadMix(available, settings.getMix());
+    }
+
+    public Operation pick(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        throw new IllegalStateException("Weight " + value + " is outside the mix");
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    private static void add(Map<String, Operation> operations, String name, Function<Random, HttpRequest> request) {
+        operations.put(name, new Operation(name, request));
+    }
+
+    private static <T> T any(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static Map<String, Object> project(String code, Long managerId) {
+        Map<String, Object> project = new HashMap<>();
+        project.put("projectName", "Load test " + code);
+        project.put("projectCode", code);
+        project.put("assignedManager", Map.of("id", managerId));
+        project.put("startDate", LocalDate.now().toString());
+        project.put("endDate", LocalDate.now().plusMonths(3).toString());
+        project.put("projectDetail", "Seeded by the load driver");
+        return project;
+    }
+
+    private static Map<String, Object> task(Long id, Long projectId, Long employeeId, String subject, String status) {
+        return task(id, projectId, employeeId, subject, "Seeded by the load driver", status);
+    }
+
+    private static Map<String, Object> task(Long id, Long projectId, Long employeeId, String subject, String detail, String status) {
+        Map<String, Object> task = new HashMap<>();
+        task.put("id", id);
+        task.put("project", Map.of("id", projectId));
+        task.put("assignedEmployee", Map.of("id", employeeId));
+        task.put("taskSubject", subject);
+        task.put("taskDetail", detail);
+        task.put("taskStatus", status);
+        return task;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.cydeo.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Knobs of a load-test run, read from -Dloadtest.* system properties (the Maven loadtest profile forwards them).
+public class LoadTestSettings {
+
+    // operation=weight, see LoadMix for the operations
+    static final String DEFAULT_MIX = "listProjects=15,getProject=15,projectStatus=10,listTasks=15,getTask=20,"
+            + "pendingTasks=5,employeeArchive=5,listUsers=5,getUser=5,createTask=5";
+
+    private final int concurrency;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int targetRps;            // 0 = closed loop, every worker sends as fast as responses come back
+    private final int seedProjects;
+    private final int tasksPerProject;
+    private final Map<String, Integer> mix;
+    private final Path resultsDir;
+
+    private LoadTestSettings(int concurrency, int warmupSeconds, int durationSeconds, int targetRps, int seedProjects,
+                             int tasksPerProject, Map<String, Integer> mix, Path resultsDir) {
+        this.concurrency = concurrency;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.targetRps = targetRps;
+        this.seedProjects = seedProjects;
+        this.tasksPerProject = tasksPerProject;
+        this.mix = mix;
+        this.resultsDir = resultsDir;
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.concurrency", 16),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 30),
+                Integer.getInteger("loadtest.target-rps", 0),
+                Integer.getInteger("loadtest.seed-projects", 20),
+                Integer.getInteger("loadtest.tasks-per-project", 25),
+                parseMix(System.getProperty("loadtest.mix", "")),
+                Paths.get(System.getProperty("loadtest.results-dir", "target")));
+    }
+
+    static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : (value.isBlank() ? DEFAULT_MIX : value).split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like operation=weight: " + entry);
+            }
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getTargetRps() {
+        return targetRps;
+    }
+
+    public int getSeedProjects() {
+        return seedProjects;
+    }
+
+    public int getTasksPerProject() {
+        return tasksPerProject;
+    }
+
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+
+    public Path getResultsDir() {
+        return resultsDir;
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.cydeo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.keycloak.common.util.Time;
+import org.keycloak.jose.jwk.JSONWebKeySet;
+import org.keycloak.jose.jwk.JWK;
+import org.keycloak.jose.jwk.JWKBuilder;
+import org.keycloak.jose.jws.JWSBuilder;
+import org.keycloak.representations.AccessToken;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Stands in for the cydeo-dev realm: a throwaway RSA key pair whose public half is handed to the Keycloak adapter as
+// keycloak.realm-key, plus the two realm documents the adapter reads (openid-configuration for the issuer it checks,
+// certs for the key). Tokens carry the claims the adapter reads from a real one: issuer, typ, preferred_username and
+// the ticketing-app client roles.
+public class LocalTokenIssuer {
+
+    private static final int TOKEN_LIFESPAN_SECONDS = 3600;
+    private static final String KEY_ID = "loadtest";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final KeyPair keyPair;
+    private final String realm;
+    private final String clientId;
+    private HttpServer server;
+
+    public LocalTokenIssuer(String realm, String clientId) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            this.keyPair = generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA is not available", e);
+        }
+        this.realm = realm;
+        this.clientId = clientId;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    // value for keycloak.auth-server-url
+    public String authServerUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/auth";
+    }
+
+    // value for keycloak.realm-key
+    public String realmPublicKey() {
+        return Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    // role is one of the ticketing-app client roles: Admin, Manager or Employee
+    public String mint(String userName, String role) {
+        AccessToken token = new AccessToken();
+        token.id(UUID.randomUUID().toString());
+        token.issuer(issuer());
+        token.subject(UUID.nameUUIDFromBytes(userName.getBytes()).toString());
+        token.type("Bearer");
+        token.issuedFor(clientId);
+        token.issuedNow();
+        token.exp((long) Time.currentTime() + TOKEN_LIFESPAN_SECONDS);
+        token.setPreferredUsername(userName);
+        token.addAccess(clientId).addRole(role);
+
+        return new JWSBuilder().type("JWT").kid(KEY_ID).jsonContent(token).rsa256(keyPair.getPrivate());
+    }
+
+    private String issuer() {
+        return authServerUrl() + "/realms/" + realm;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String realmPath = "/auth/realms/" + realm;
+
+        if (path.equals(realmPath + "/.well-known/openid-configuration")) {
+            String endpoints = issuer() + "/protocol/openid-connect";
+            Map<String, Object> configuration = new LinkedHashMap<>();
+            configuration.put("issuer", issuer());
+            configuration.put("authorization_endpoint", endpoints + "/auth");
+            configuration.put("token_endpoint", endpoints + "/token");
+            configuration.put("userinfo_endpoint", endpoints + "/userinfo");
+            configuration.put("end_session_endpoint", endpoints + "/logout");
+            configuration.put("jwks_uri", endpoints + "/certs");
+            respond(exchange, 200, configuration);
+        } else if (path.equals(realmPath + "/protocol/openid-connect/certs")) {
+            JWK key = JWKBuilder.create().kid(KEY_ID).rs256(keyPair.getPublic());
+            JSONWebKeySet keys = new JSONWebKeySet();
+            keys.setKeys(new JWK[]{key});
+            respond(exchange, 200, keys);
+        } else {
+            respond(exchange, 404, Map.of("error", "Not found"));
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+}
@@ -1,27 +1,15 @@
 package com.cydeo;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TicketingProjectRestApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(TicketingProjectRestApplication.class, args);
     }
 
-    @Bean
-    public ModelMapper mapper(){
-
-        return new ModelMapper();
-    }
-    @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
-    }
-
 }
@@ -3,13 +3,15 @@ package com.cydeo.aspect;
 import lombok.extern.slf4j.Slf4j;//coming from lombok
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.*;
-import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
+import com.cydeo.dto.AuditEventDTO;
+import com.cydeo.service.AuditLogService;
+import com.cydeo.service.CurrentUserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+
 @Aspect
 @Component
 @Slf4j
@@ -17,10 +19,16 @@ public class LoggingAspect {
 
    // Logger logger = LoggerFactory.getLogger(LoggingAspect.class);//instead of Logger we are using Slf4j
 
+    private final CurrentUserService currentUserService;
+    private final AuditLogService auditLogService;
+
+    public LoggingAspect(CurrentUserService currentUserService, AuditLogService auditLogService) {
+        this.currentUserService = currentUserService;
+        this.auditLogService = auditLogService;
+    }
+
     private String getUsername(){
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        SimpleKeycloakAccount userDetails= (SimpleKeycloakAccount) authentication.getDetails();
-        return userDetails.getKeycloakSecurityContext().getToken().getPreferredUsername();
+        return currentUserService.getUsername();
     }
 
 
@@ -28,29 +36,22 @@ public class LoggingAspect {
     public void anyProjectAndTaskControllerPC(){}
 
 
-    @Before("anyProjectAndTaskControllerPC()")
-    public void  beforeAnyProjectAndTaskControllerAdvice(JoinPoint joinPoint){
-        log.info("Before -> Method: {}, User:{}"
-                , joinPoint.getSignature().toShortString()
-                , getUsername());
-
-    }
     @AfterReturning(pointcut = "anyProjectAndTaskControllerPC()", returning = "results")
     public void afterReturningAnyProjectAndTaskControllerAdvice(JoinPoint joinPoint, Object results){
-        log.info("After Returning -> Methode: {}, User:{}, Results: {}"
-                , joinPoint.getSignature().toShortString()
-                , getUsername()
-                , results.toString());
+        audit(joinPoint, "success", results);
     }
 
     @AfterThrowing (pointcut = "anyProjectAndTaskControllerPC()", throwing = "exception")
-    public void afterReturningAnyProjectAndTaskControllerAdvice(JoinPoint joinPoint, Exception exception){
-        log.info("After Returning -> Methode: {}, User:{}, Results: {}"
-                , joinPoint.getSignature().toShortString()
-                , getUsername()
-                , exception.getMessage());
+    public void afterThrowingAnyProjectAndTaskControllerAdvice(JoinPoint joinPoint, Exception exception){
+        audit(joinPoint, "error", exception.getMessage());
     }
 
-
+    // sampling is decided first so skipped calls never resolve the user or summarize the response
+    private void audit(JoinPoint joinPoint, String outcome, Object result) {
+        String endpoint = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        if (auditLogService.isSampled(endpoint)) {
+            auditLogService.publish(new AuditEventDTO(Instant.now(), endpoint, getUsername(), outcome, auditLogService.summarize(result)));
+        }
+    }
 
 }
@@ -1,41 +1,76 @@
 package com.cydeo.aspect;
 
-import lombok.extern.slf4j.Slf4j;
+import com.cydeo.util.PercentileMeters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Records every @ExecutionTime call into a per-method, per-outcome histogram (method.execution) instead of log lines.
+// Percentiles are read back through /actuator/latency.
 @Aspect
 @Component
-@Slf4j
 public class PerformanceAspect {
 
+    public static final String METRIC_NAME = "method.execution";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public PerformanceAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Pointcut("@annotation(com.cydeo.annotation.ExecutionTime)")
     public void executionTimePC() {}
 
     @Around("executionTimePC()")
-    public Object aroundAnyExecutionTimeAdvice(ProceedingJoinPoint proceedingJoinPoint) {
+    public Object aroundAnyExecutionTimeAdvice(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
 
-        long beforeTime = System.currentTimeMillis();
-        Object result = null;
-        log.info("Execution starts:");
+        MethodTimers methodTimers = timers.computeIfAbsent(((MethodSignature) proceedingJoinPoint.getSignature()).getMethod(), this::register);
+        long start = System.nanoTime();
 
         try {
-            result = proceedingJoinPoint.proceed();
+            Object result = proceedingJoinPoint.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
         } catch (Throwable throwable) {
-            throwable.printStackTrace();
+            methodTimers.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw throwable;    // handled by GlobalExceptionHandler as before the aspect
         }
 
-        long afterTime = System.currentTimeMillis();
-
-        log.info("Time taken to execute: {} ms - Method: {}"
-                , (afterTime - beforeTime), proceedingJoinPoint.getSignature().toShortString());
+    }
 
-        return result;
+    private MethodTimers register(Method method) {
+        return new MethodTimers(timer(method, "success"), timer(method, "error"));
+    }
 
+    private Timer timer(Method method, String outcome) {
+        return PercentileMeters.timer(METRIC_NAME, "Execution time of @ExecutionTime methods")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
+    private static final class MethodTimers {
+
+        private final Timer success;
+        private final Timer error;
+
+        private MethodTimers(Timer success, Timer error) {
+            this.success = success;
+            this.error = error;
+        }
+    }
 
 }
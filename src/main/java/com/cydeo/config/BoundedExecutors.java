@@ -0,0 +1,29 @@
+package com.cydeo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Fixed-size pools for work that must not take over Tomcat's threads. Each component keeps its pool to itself and
+// shuts it down in close(): an Executor bean would switch off Boot's applicationTaskExecutor.
+public final class BoundedExecutors {
+
+    private BoundedExecutors() {
+    }
+
+    // once the threads and the queue are full submit throws RejectedExecutionException instead of queueing further
+    public static ThreadPoolExecutor newBoundedPool(String name, String threadNamePrefix, int poolSize, int queueCapacity,
+                                                    MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(threadNamePrefix),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+}
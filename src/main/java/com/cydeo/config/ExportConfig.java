@@ -0,0 +1,19 @@
+package com.cydeo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExportConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExportStreamer exportStreamer(@Value("${ticketing.export.pool-size}") int poolSize,
+                                         @Value("${ticketing.export.queue-capacity}") int queueCapacity,
+                                         @Value("${ticketing.export.timeout-seconds}") long timeoutSeconds,
+                                         MeterRegistry meterRegistry) {
+        return new ExportStreamer(poolSize, queueCapacity, timeoutSeconds * 1000, meterRegistry);
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.cydeo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ThreadPoolExecutor;
+
+// Exports hold a pooled connection and a read-only transaction for as long as their cursor streams, so they run on a
+// small pool of their own and under their own time limit instead of spring.mvc.async.request-timeout. When the limit
+// is hit the next write fails: the cursor is closed, the transaction rolls back and the connection goes back.
+@Slf4j
+public class ExportStreamer {
+
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentTaskExecutor taskExecutor;
+    private final long timeoutMillis;
+
+    public ExportStreamer(int poolSize, int queueCapacity, long timeoutMillis, MeterRegistry meterRegistry) {
+        this.executor = BoundedExecutors.newBoundedPool("export", "export-", poolSize, queueCapacity, meterRegistry);
+        this.taskExecutor = new ConcurrentTaskExecutor(executor);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public WebAsyncTask<Void> stream(HttpServletResponse response, String contentType, String fileName, StreamingResponseBody body) {
+
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName);
+        TimeLimitedOutputStream out = new TimeLimitedOutputStream(response);
+
+        WebAsyncTask<Void> task = new WebAsyncTask<>(timeoutMillis, taskExecutor, () -> {
+            try (out) {
+                body.writeTo(out);
+            }
+            return null;
+        });
+        task.onTimeout(() -> {
+            out.expire();
+            log.warn("Export timed out -> File: {}, Timeout ms: {}", fileName, timeoutMillis);
+            return null;
+        });
+        return task;
+    }
+
+    public void close() {
+        executor.shutdown();
+    }
+
+    // the response stream is only fetched on the export thread, which is also the only one writing and closing it
+    private static final class TimeLimitedOutputStream extends FilterOutputStream {
+
+        private final HttpServletResponse response;
+        private volatile boolean expired;
+
+        private TimeLimitedOutputStream(HttpServletResponse response) {
+            super(null);
+            this.response = response;
+        }
+
+        void expire() {
+            expired = true;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target().flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // after a timeout the container has already completed and closed the response
+            if (out != null && !expired) {
+                out.close();
+            }
+        }
+
+        private OutputStream target() throws IOException {
+            if (expired) {
+                throw new IOException("Export timed out");
+            }
+            if (out == null) {
+                out = response.getOutputStream();
+            }
+            return out;
+        }
+    }
+
+}
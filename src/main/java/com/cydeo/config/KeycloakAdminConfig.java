@@ -0,0 +1,43 @@
+package com.cydeo.config;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.keycloak.OAuth2Constants;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.KeycloakBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class KeycloakAdminConfig {
+
+    // One admin client for the whole application: pooled HTTP connections and a master-realm token
+    // that TokenManager refreshes before it expires instead of logging in again for every call.
+    // Every wait is bounded, so an unreachable or hung Keycloak fails the call (the outbox retries it) instead of
+    // parking the caller on a socket or on an empty pool.
+    @Bean(destroyMethod = "close")
+    public Keycloak keycloakAdminClient(KeycloakProperties keycloakProperties) {
+
+        Keycloak keycloak = KeycloakBuilder.builder()
+                .serverUrl(keycloakProperties.getAuthServerUrl())
+                .realm(keycloakProperties.getMasterRealm())
+                .username(keycloakProperties.getMasterUser())
+                .password(keycloakProperties.getMasterUserPswd())
+                .clientId(keycloakProperties.getMasterClient())
+                .grantType(OAuth2Constants.PASSWORD)
+                .resteasyClient(new ResteasyClientBuilder()
+                        .connectionPoolSize(keycloakProperties.getAdminPoolSize())
+                        .maxPooledPerRoute(keycloakProperties.getAdminPoolSize())
+                        .connectionTTL(5, TimeUnit.MINUTES)
+                        .connectTimeout(keycloakProperties.getAdminConnectTimeoutMs(), TimeUnit.MILLISECONDS)
+                        .readTimeout(keycloakProperties.getAdminReadTimeoutMs(), TimeUnit.MILLISECONDS)
+                        .connectionCheckoutTimeout(keycloakProperties.getAdminCheckoutTimeoutMs(), TimeUnit.MILLISECONDS)
+                        .build())
+                .build();
+
+        keycloak.tokenManager().setMinTokenValidity(keycloakProperties.getAdminMinTokenValidity());
+        return keycloak;
+    }
+
+}
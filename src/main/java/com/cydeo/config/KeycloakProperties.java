@@ -26,5 +26,15 @@ public class KeycloakProperties {
     private String masterRealm;
     @Value("${master.client}")
     private String masterClient;
+    @Value("${ticketing.keycloak-admin.pool-size}")
+    private int adminPoolSize;
+    @Value("${ticketing.keycloak-admin.min-token-validity-seconds}")
+    private int adminMinTokenValidity;
+    @Value("${ticketing.keycloak-admin.connect-timeout-ms}")
+    private long adminConnectTimeoutMs;
+    @Value("${ticketing.keycloak-admin.read-timeout-ms}")
+    private long adminReadTimeoutMs;
+    @Value("${ticketing.keycloak-admin.checkout-timeout-ms}")
+    private long adminCheckoutTimeoutMs;
 
 }
\ No newline at end of file
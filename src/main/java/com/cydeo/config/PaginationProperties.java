@@ -0,0 +1,25 @@
+package com.cydeo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class PaginationProperties {
+
+    @Value("${ticketing.pagination.default-page-size}")
+    private int defaultPageSize;
+    @Value("${ticketing.pagination.max-page-size}")
+    private int maxPageSize;
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.cydeo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean(destroyMethod = "close")
+    public OffloadingPasswordEncoder passwordEncoder(@Value("${ticketing.password-hashing.strength}") int strength,
+                                                     @Value("${ticketing.password-hashing.pool-size}") int poolSize,
+                                                     @Value("${ticketing.password-hashing.queue-capacity}") int queueCapacity,
+                                                     MeterRegistry meterRegistry) {
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, meterRegistry);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.cydeo.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Sends read-only transactions to the replica and everything else to the primary. Once a request has run a read-write
+// transaction it stays on the primary, so it reads its own writes however far the replica lags.
+// Has to sit behind a LazyConnectionDataSourceProxy: the transaction managers fetch the connection before the
+// transaction is marked read-only, the proxy only resolves it at the first statement.
+// A transaction sent to the replica reads the second-level cache but never puts into it (CacheMode.GET): a lagging
+// row or query result would otherwise be served to every later transaction, primary ones included, until it expires.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY_PINNED = ReadWriteRoutingDataSource.class.getName() + ".PRIMARY_PINNED";
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (request != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                request.setAttribute(PRIMARY_PINNED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+            return Target.PRIMARY;
+        }
+
+        boolean pinned = request != null && request.getAttribute(PRIMARY_PINNED, RequestAttributes.SCOPE_REQUEST) != null;
+        if (pinned) {
+            return Target.PRIMARY;
+        }
+        keepOutOfSecondLevelCache();
+        return Target.REPLICA;
+    }
+
+    // the session's own mode comes back once the transaction completes, an open-in-view session outlives it
+    private static void keepOutOfSecondLevelCache() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder) {
+                Session session = ((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class);
+                CacheMode cacheMode = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        session.setCacheMode(cacheMode);
+                    }
+                });
+            }
+        }
+    }
+
+}
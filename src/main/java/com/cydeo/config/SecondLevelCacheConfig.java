@@ -0,0 +1,77 @@
+package com.cydeo.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate second-level cache on Caffeine's JCache provider, the library behind UserDirectoryServiceImpl.
+// Every region is bounded by max-size and ttl-seconds, except the update timestamps that decide whether a cached query
+// result is still valid: it holds one entry per table and must never lose one. Each application context gets its
+// own CacheManager, so contexts on different databases (tests) never share entries.
+// Hits and misses are published as cache.gets{cache=<region>}.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String ROLES = "roles";
+    public static final String PROJECTS = "projects";
+    public static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private static final List<String> BOUNDED_REGIONS = List.of(USERS, ROLES, PROJECTS, QUERY_RESULTS);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${ticketing.second-level-cache.max-size}") long maxSize,
+                                              @Value("${ticketing.second-level-cache.ttl-seconds}") long ttlSeconds) {
+
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : BOUNDED_REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = configuration();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        cacheManager.createCache(UPDATE_TIMESTAMPS, configuration());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                CaffeineCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region)
+                        .unwrap(com.github.benmanes.caffeine.cache.Cache.class), region);
+            }
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> configuration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.cydeo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlStatisticsConfig {
+
+    // Only the bean JPA, Flyway and the SQL scripts run on; with ReadReplicaConfig that is the routing one, so both
+    // pools are counted and keep their HikariDataSource type
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && !(bean instanceof SqlStatisticsDataSource) && beanName.equals("dataSource")
+                        ? new SqlStatisticsDataSource((DataSource) bean) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(MeterRegistry meterRegistry,
+                                                   @Value("${ticketing.sql-statistics.response-headers}") boolean responseHeaders,
+                                                   @Value("${ticketing.sql-statistics.repeat-threshold}") int repeatThreshold) {
+        return new SqlStatisticsFilter(meterRegistry, responseHeaders, repeatThreshold);
+    }
+
+}
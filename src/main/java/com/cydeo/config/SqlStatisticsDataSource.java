@@ -0,0 +1,136 @@
+package com.cydeo.config;
+
+import com.cydeo.util.SqlStatistics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Feeds SqlStatistics from the JDBC calls themselves, so Hibernate, native queries and plain JDBC are all seen, with
+// the rows each statement returned or changed and the time spent executing and fetching. Calls on a thread that is
+// not counting pass straight through.
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    public SqlStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement) {
+                return statement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return statement(Statement.class, (Statement) result, null);
+            }
+            return result;
+        });
+    }
+
+    // sql is null for a plain Statement, which gets it with every execute call instead
+    private <T extends Statement> T statement(Class<T> type, T statement, String sql) {
+        return proxy(type, statement, (method, args) -> {
+            SqlStatistics statistics = SqlStatistics.current();
+            String name = method.getName();
+            if (statistics == null || !name.startsWith("execute")) {
+                Object result = invoke(statement, method, args);
+                return statistics != null && name.equals("getResultSet") && result != null ? resultSet((ResultSet) result) : result;
+            }
+
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            statistics.statementExecuted(sql != null || args == null ? sql : (String) args[0], System.nanoTime() - start);
+
+            if (result instanceof ResultSet) {
+                return resultSet((ResultSet) result);
+            }
+            statistics.rowsProcessed(updateCount(result), 0);
+            return result;
+        });
+    }
+
+    private ResultSet resultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            if (!method.getName().equals("next")) {
+                return invoke(resultSet, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(resultSet, method, args);
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.rowsProcessed(Boolean.TRUE.equals(result) ? 1 : 0, System.nanoTime() - start);
+            }
+            return result;
+        });
+    }
+
+    // executeUpdate and executeBatch report changed rows, negative counts are SUCCESS_NO_INFO and EXECUTE_FAILED
+    private static long updateCount(Object result) {
+        if (result instanceof Number) {
+            return Math.max(0, ((Number) result).longValue());
+        }
+        long total = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                total += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                total += Math.max(0, count);
+            }
+        }
+        return total;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Call {
+        Object apply(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Call call) {
+        // identity semantics, Hibernate keeps statements and result sets in hash maps
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return call.apply(method, args);
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.cydeo.config;
+
+import com.cydeo.util.PercentileMeters;
+import com.cydeo.util.SqlStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Counts the SQL of every request (see SqlStatistics) into http.server.requests.sql.* meters, tagged like Boot's
+// http.server.requests. With response headers on, the totals also go back as X-SQL-* headers, written when the body
+// starts, i.e. after the service calls. The same statement running repeat-threshold times is logged as a likely N+1.
+// Only the request thread is counted, not the export thread of an ExportStreamer download.
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_PREFIX = "http.server.requests.sql";
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int repeatThreshold;
+    private final Map<String, RequestMeters> meters = new ConcurrentHashMap<>();
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, boolean responseHeaders, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            filterChain.doFilter(request, responseHeaders ? new HeaderWritingResponse(response, statistics) : response);
+        } finally {
+            statistics.close();
+            if (responseHeaders && !request.isAsyncStarted()) {
+                writeHeaders(response, statistics);     // responses without a body
+            }
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();      // never the raw path, it would explode the tags
+        RequestMeters requestMeters = meters.computeIfAbsent(request.getMethod() + " " + uri, key -> register(request.getMethod(), uri));
+
+        requestMeters.statements.record(statistics.getStatements());
+        requestMeters.rows.record(statistics.getRows());
+        requestMeters.time.record(statistics.getTimeNanos(), TimeUnit.NANOSECONDS);
+
+        int repeats = statistics.getMostRepeatedCount();
+        if (repeats >= repeatThreshold) {
+            requestMeters.repeated.increment();
+            log.warn("SQL statistics -> Request: {} {}, Possible N+1, ran {} times: {}", request.getMethod(), uri, repeats, statistics.getMostRepeatedSql());
+        }
+    }
+
+    private RequestMeters register(String method, String uri) {
+        return new RequestMeters(
+                summary(".statements", "statements", "Statements executed per request", method, uri),
+                summary(".rows", "rows", "Rows read or changed per request", method, uri),
+                PercentileMeters.timer(METRIC_PREFIX + ".time", "Time spent in JDBC per request")
+                        .tags("method", method, "uri", uri)
+                        .register(meterRegistry),
+                Counter.builder(METRIC_PREFIX + ".repeated")
+                        .description("Requests that ran one statement at least repeat-threshold times")
+                        .tags("method", method, "uri", uri)
+                        .register(meterRegistry));
+    }
+
+    private DistributionSummary summary(String suffix, String baseUnit, String description, String method, String uri) {
+        return PercentileMeters.summary(METRIC_PREFIX + suffix, description)
+                .baseUnit(baseUnit)
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry);
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlStatistics statistics) {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+        response.setHeader(ROWS_HEADER, String.valueOf(statistics.getRows()));
+        response.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", statistics.getTimeNanos() / 1_000_000.0));
+    }
+
+    // headers have to be in place before the first byte of the body commits the response
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+
+        private HeaderWritingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), statistics);
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), statistics);
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), statistics);
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), statistics);
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), statistics);
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), statistics);
+            super.sendRedirect(location);
+        }
+    }
+
+    private static final class RequestMeters {
+
+        private final DistributionSummary statements;
+        private final DistributionSummary rows;
+        private final Timer time;
+        private final Counter repeated;
+
+        private RequestMeters(DistributionSummary statements, DistributionSummary rows, Timer time, Counter repeated) {
+            this.statements = statements;
+            this.rows = rows;
+            this.time = time;
+            this.repeated = repeated;
+        }
+    }
+
+}
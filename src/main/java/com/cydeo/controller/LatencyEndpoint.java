@@ -0,0 +1,52 @@
+package com.cydeo.controller;
+
+import com.cydeo.aspect.PerformanceAspect;
+import com.cydeo.dto.MethodLatencyDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// GET /actuator/latency: p50/p90/p99/max per @ExecutionTime method and outcome, slowest p99 first.
+// Percentiles cover the last couple of minutes (Micrometer's rolling histogram window), count is cumulative.
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public LatencyEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public List<MethodLatencyDTO> latency() {
+        return meterRegistry.find(PerformanceAspect.METRIC_NAME).timers().stream()
+                .filter(timer -> timer.count() > 0)
+                .map(this::toLatency)
+                .sorted(Comparator.comparingDouble(MethodLatencyDTO::getP99Ms).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private MethodLatencyDTO toLatency(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        ValueAtPercentile[] percentiles = snapshot.percentileValues();  // 0.5, 0.9, 0.99 as registered by PercentileMeters
+        return new MethodLatencyDTO(
+                timer.getId().getTag("class") + "." + timer.getId().getTag("method"),
+                timer.getId().getTag("outcome"),
+                snapshot.count(),
+                percentiles[0].value(TimeUnit.MILLISECONDS),
+                percentiles[1].value(TimeUnit.MILLISECONDS),
+                percentiles[2].value(TimeUnit.MILLISECONDS),
+                snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+}
@@ -1,15 +1,23 @@
 package com.cydeo.controller;
 
+import com.cydeo.config.ExportStreamer;
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.ProjectDTO;
 import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.enums.ExportFormat;
+import com.cydeo.service.ExportService;
 import com.cydeo.service.ProjectService;
+import com.cydeo.util.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import javax.annotation.security.RolesAllowed;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -18,26 +26,47 @@ import java.util.List;
 public class ProjectController {
 
     public  final ProjectService projectService;
+    public final ExportService exportService;
+    public final ExportStreamer exportStreamer;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ExportService exportService, ExportStreamer exportStreamer) {
         this.projectService = projectService;
+        this.exportService = exportService;
+        this.exportStreamer = exportStreamer;
     }
 
     @GetMapping
     @RolesAllowed("Manager")
     @Operation(summary = "Get projects")
-    public ResponseEntity<ResponseWrapper> getProjects(){
-        List<ProjectDTO> projectDTOList=projectService.listAllProjects();
-       return ResponseEntity.ok(new ResponseWrapper("Projects are successfully retrieved", projectDTOList, HttpStatus.OK));
+    public ResponseEntity<ResponseWrapper> getProjects(@RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "size", required = false) Integer size, WebRequest request){
+        ResourceVersion version = projectService.getProjectsPageVersion(cursor, size);
+        if (request.checkNotModified(version.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(version.toHeaders()).build();
+        }
+        PageDTO<ProjectDTO> projectPage=projectService.listProjectsPage(cursor, size);
+       return ResponseEntity.ok().headers(version.toHeaders()).body(new ResponseWrapper("Projects are successfully retrieved", projectPage, HttpStatus.OK));
     }
 
 
+    @GetMapping("/export")
+    @RolesAllowed({"Admin","Manager"})
+    @Operation(summary = "Export projects as NDJSON or CSV")
+    public WebAsyncTask<Void> exportProjects(@RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format, HttpServletResponse response){
+        return exportStreamer.stream(response, format.getContentType(), "projects." + format.getExtension(),
+                out -> exportService.exportProjects(format, out));
+    }
+
     @GetMapping("/{code}")
     @RolesAllowed({"Admin","Manager"})
     @Operation(summary = "Get project by code")
-    public ResponseEntity<ResponseWrapper> getProjectByCode(@PathVariable("code")String code){
+    public ResponseEntity<ResponseWrapper> getProjectByCode(@PathVariable("code")String code, WebRequest request){
+        ResourceVersion version = projectService.getVersionByProjectCode(code);
+        if (request.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(version.toHeaders()).build();
+        }
         ProjectDTO projectDTO =projectService.getByProjectCode(code);
-        return ResponseEntity.ok(new ResponseWrapper("Project are successfully retrieved", projectDTO, HttpStatus.OK));
+        return ResponseEntity.ok().headers(version.toHeaders()).body(new ResponseWrapper("Project are successfully retrieved", projectDTO, HttpStatus.OK));
     }
 
 
@@ -1,16 +1,28 @@
 package com.cydeo.controller;
 
+import com.cydeo.config.ExportStreamer;
+import com.cydeo.dto.ArchivedTaskDTO;
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.dto.TaskBatchResultDTO;
 import com.cydeo.dto.TaskDTO;
+import com.cydeo.enums.ExportFormat;
 import com.cydeo.enums.Status;
+import com.cydeo.exception.TicketingProjectException;
+import com.cydeo.service.ExportService;
+import com.cydeo.service.TaskArchiveService;
 import com.cydeo.service.TaskService;
+import com.cydeo.util.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import javax.annotation.security.RolesAllowed;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -19,24 +31,61 @@ import java.util.List;
 public class TaskController {
 
     public final TaskService taskService;
+    public final ExportService exportService;
+    public final TaskArchiveService taskArchiveService;
+    public final ExportStreamer exportStreamer;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ExportService exportService, TaskArchiveService taskArchiveService, ExportStreamer exportStreamer) {
         this.taskService = taskService;
+        this.exportService = exportService;
+        this.taskArchiveService = taskArchiveService;
+        this.exportStreamer = exportStreamer;
     }
     @GetMapping
     @RolesAllowed("Manager")
     @Operation(summary = "Get tasks")
-    public ResponseEntity<ResponseWrapper>getTasks(){
-        List<TaskDTO> taskDTOList = taskService.listAllTasks();
-        return ResponseEntity.ok(new ResponseWrapper("Tasks are successfully retrieved", taskDTOList, HttpStatus.OK));
+    public ResponseEntity<ResponseWrapper>getTasks(@RequestParam(value = "cursor", required = false) String cursor,
+                                                   @RequestParam(value = "size", required = false) Integer size, WebRequest request){
+        ResourceVersion version = taskService.getTasksPageVersion(cursor, size);
+        if (request.checkNotModified(version.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(version.toHeaders()).build();
+        }
+        PageDTO<TaskDTO> taskPage = taskService.listTasksPage(cursor, size);
+        return ResponseEntity.ok().headers(version.toHeaders()).body(new ResponseWrapper("Tasks are successfully retrieved", taskPage, HttpStatus.OK));
+    }
+
+    @GetMapping("/export")
+    @RolesAllowed("Manager")
+    @Operation(summary = "Export tasks as NDJSON or CSV")
+    public WebAsyncTask<Void> exportTasks(@RequestParam(value = "projectCode", required = false) String projectCode,
+                                          @RequestParam(value = "status", required = false) Status status,
+                                          @RequestParam(value = "assignedEmployee", required = false) String assignedEmployee,
+                                          @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+                                          HttpServletResponse response) {
+        return exportStreamer.stream(response, format.getContentType(), "tasks." + format.getExtension(),
+                out -> exportService.exportTasks(projectCode, status, assignedEmployee, format, out));
+    }
+
+    @GetMapping("/archive")
+    @RolesAllowed("Manager")
+    @Operation(summary = "Get archived tasks")
+    public ResponseEntity<ResponseWrapper> getArchivedTasks(@RequestParam(value = "projectCode", required = false) String projectCode,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "size", required = false) Integer size){
+        PageDTO<ArchivedTaskDTO> taskPage = taskArchiveService.listArchivedTasksPage(projectCode, cursor, size);
+        return ResponseEntity.ok(new ResponseWrapper("Archived tasks are successfully retrieved", taskPage, HttpStatus.OK));
     }
 
     @GetMapping("/{taskId}")
     @RolesAllowed("Manager")
     @Operation(summary = "Get task by id")
-    public ResponseEntity<ResponseWrapper> getTaskById(@PathVariable("taskId")Long taskId){
+    public ResponseEntity<ResponseWrapper> getTaskById(@PathVariable("taskId")Long taskId, WebRequest request){
+        ResourceVersion version = taskService.getVersionById(taskId);
+        if (request.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(version.toHeaders()).build();
+        }
         TaskDTO task=taskService.findById(taskId);
-        return ResponseEntity.ok(new ResponseWrapper("Task are successfully retrieved", task, HttpStatus.OK));
+        return ResponseEntity.ok().headers(version.toHeaders()).body(new ResponseWrapper("Task are successfully retrieved", task, HttpStatus.OK));
 
     }
 
@@ -48,6 +97,22 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseWrapper("Tasks are successfully created", task, HttpStatus.CREATED));
 
     }
+    @PostMapping("/batch")
+    @RolesAllowed("Manager")
+    @Operation(summary = "Create tasks in batch")
+    public ResponseEntity<ResponseWrapper> createTasks(@RequestBody List<TaskDTO> tasks) throws TicketingProjectException {
+        List<TaskBatchResultDTO> results = taskService.saveAll(tasks);
+        return batchResponse(results, "Tasks are successfully created", HttpStatus.CREATED);
+    }
+
+    @PutMapping("/batch")
+    @RolesAllowed("Manager")
+    @Operation(summary = "Update tasks in batch")
+    public ResponseEntity<ResponseWrapper> updateTasks(@RequestBody List<TaskDTO> tasks) throws TicketingProjectException {
+        List<TaskBatchResultDTO> results = taskService.updateAll(tasks);
+        return batchResponse(results, "Tasks are successfully updated", HttpStatus.OK);
+    }
+
     @DeleteMapping("/{taskId}")
     @RolesAllowed("Manager")
     @Operation(summary = "Delete Task")
@@ -90,5 +155,21 @@ public class TaskController {
         return ResponseEntity.ok(new ResponseWrapper("Tasks are successfully retrieved", taskDTOList, HttpStatus.OK));
 
     }
+    @GetMapping("/employee/archive/history")
+    @RolesAllowed("Employee")
+    @Operation(summary = "Employee tasks completed before the archive cutoff")
+    public ResponseEntity<ResponseWrapper> employeeArchivedTaskHistory(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                       @RequestParam(value = "size", required = false) Integer size){
+        PageDTO<ArchivedTaskDTO> taskPage = taskArchiveService.listEmployeeArchivedTasksPage(cursor, size);
+        return ResponseEntity.ok(new ResponseWrapper("Tasks are successfully retrieved", taskPage, HttpStatus.OK));
+    }
+
+    private ResponseEntity<ResponseWrapper> batchResponse(List<TaskBatchResultDTO> results, String message, HttpStatus httpStatus) {
+        if (results.stream().allMatch(TaskBatchResultDTO::isSuccess)) {
+            return ResponseEntity.status(httpStatus).body(new ResponseWrapper(message, results, httpStatus));
+        }
+        return ResponseEntity.badRequest().body(ResponseWrapper.builder().success(false).code(HttpStatus.BAD_REQUEST.value())
+                .message("Tasks are not valid, nothing was saved").data(results).build());
+    }
 
 }
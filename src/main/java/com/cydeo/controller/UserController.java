@@ -1,6 +1,7 @@
 package com.cydeo.controller;
 
 import com.cydeo.annotation.ExecutionTime;
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.ResponseWrapper;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.exception.TicketingProjectException;
@@ -9,10 +10,11 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.security.RolesAllowed;
-import java.util.List;
+import javax.validation.groups.Default;
 
 @RestController
 @RequestMapping("/api/v1/user")
@@ -28,9 +30,10 @@ public class UserController {
     @GetMapping
     @RolesAllowed({"Manager","Admin"})
     @Operation(summary = "Get users")
-    public ResponseEntity<ResponseWrapper> getUsers(){
-    List<UserDTO> userDTOList=userService.listAllUsers();
-    return ResponseEntity.ok(new ResponseWrapper("Users are successfully retrieved", userDTOList, HttpStatus.OK));
+    public ResponseEntity<ResponseWrapper> getUsers(@RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "size", required = false) Integer size){
+    PageDTO<UserDTO> userPage=userService.listUsersPage(cursor, size);
+    return ResponseEntity.ok(new ResponseWrapper("Users are successfully retrieved", userPage, HttpStatus.OK));
 
 
     }
@@ -47,7 +50,7 @@ public class UserController {
     @PostMapping
     @RolesAllowed("Admin")
     @Operation(summary = "Create user")
-    public ResponseEntity<ResponseWrapper> createUser(@RequestBody UserDTO user){
+    public ResponseEntity<ResponseWrapper> createUser(@Validated({UserDTO.OnCreate.class, Default.class}) @RequestBody UserDTO user){
         userService.save(user);
         return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseWrapper("User is successfully created", HttpStatus.CREATED));
     }
@@ -0,0 +1,27 @@
+package com.cydeo.dto;
+
+import com.cydeo.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTaskDTO {
+
+    private Long id;
+    private Long projectId;
+    private String projectCode;
+    private Long assignedEmployeeId;
+    private String taskSubject;
+    private String taskDetail;
+    private Status taskStatus;
+    private LocalDate assignedDate;
+    private boolean deleted;
+    private LocalDateTime archivedAt;
+
+}
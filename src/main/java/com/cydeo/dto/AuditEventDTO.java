@@ -0,0 +1,20 @@
+package com.cydeo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventDTO {
+
+    private Instant timestamp;
+    private String endpoint;
+    private String user;
+    private String outcome;
+    private String result;      // summary, never the full payload
+
+}
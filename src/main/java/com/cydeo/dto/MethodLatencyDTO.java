@@ -0,0 +1,20 @@
+package com.cydeo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MethodLatencyDTO {
+
+    private String method;
+    private String outcome;
+    private long count;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double maxMs;
+
+}
@@ -41,6 +41,10 @@ public class ProjectDTO {
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)//retrieve
     private int completeTaskCounts;
     private int unfinishedTaskCounts;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int openTaskCounts;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int inProgressTaskCounts;
 
     public ProjectDTO(String projectName, String projectCode, UserDTO assignedManager, LocalDate startDate, LocalDate endDate, String projectDetail, Status projectStatus) {
         this.projectName = projectName;
@@ -52,4 +56,20 @@ public class ProjectDTO {
         this.projectStatus = projectStatus;
     }
 
+    // used by the manager dashboard query to project per-status task counts straight into the DTO
+    public ProjectDTO(Long id, String projectName, String projectCode, LocalDate startDate, LocalDate endDate, String projectDetail, Status projectStatus,
+                      Long openTaskCounts, Long inProgressTaskCounts, Long completeTaskCounts) {
+        this.id = id;
+        this.projectName = projectName;
+        this.projectCode = projectCode;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.projectDetail = projectDetail;
+        this.projectStatus = projectStatus;
+        this.openTaskCounts = openTaskCounts.intValue();
+        this.inProgressTaskCounts = inProgressTaskCounts.intValue();
+        this.completeTaskCounts = completeTaskCounts.intValue();
+        this.unfinishedTaskCounts = this.openTaskCounts + this.inProgressTaskCounts;
+    }
+
 }
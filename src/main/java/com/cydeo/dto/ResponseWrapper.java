@@ -16,6 +16,7 @@ public class ResponseWrapper {
     private String message;
     private Integer code;
     private Object data;
+    private String nextCursor;
 
     public ResponseWrapper(String message, Object data,HttpStatus httpStatus) {
         this.success = true;
@@ -24,6 +25,11 @@ public class ResponseWrapper {
         this.data = data;// when we delete this field is Null in Json, that why we  put @JsonInclude.Include.NON_NULL
     }
 
+    public ResponseWrapper(String message, PageDTO<?> page, HttpStatus httpStatus) {
+        this(message, page.getItems(), httpStatus);
+        this.nextCursor = page.getNextCursor();
+    }
+
     public ResponseWrapper(String message,HttpStatus httpStatus) {
         this.message = message;
         this.code = httpStatus.value();
@@ -0,0 +1,19 @@
+package com.cydeo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResultDTO {
+
+    private int index;      // position of the task in the request body
+    private Long id;
+    private boolean success;
+    private String message;
+
+}
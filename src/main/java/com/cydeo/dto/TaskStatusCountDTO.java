@@ -0,0 +1,17 @@
+package com.cydeo.dto;
+
+import com.cydeo.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusCountDTO {
+
+    private Long projectId;
+    private Status taskStatus;
+    private Long total;
+
+}
@@ -15,6 +15,10 @@ public class UserDTO {
 
     private Long id;
 
+    // constraints that only apply when a user is created: on update the password is left out to keep it
+    public interface OnCreate {
+    }
+
     public Long getId() {
         return id;
     }
@@ -35,12 +39,12 @@ public class UserDTO {
     @Email
     private String userName;
 
-    @NotBlank
+    @NotBlank(groups = OnCreate.class)
     @Pattern(regexp = "(?=.*\\d)(?=.*[a-z])(?=.*[A-Z]).{4,}")
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)//when we post in body we can write// when we retrieve user we shouldn't see password
     private String passWord;
 
-    @NotNull
+    @NotNull(groups = OnCreate.class)
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String confirmPassWord;
 
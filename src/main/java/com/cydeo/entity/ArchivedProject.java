@@ -0,0 +1,53 @@
+package com.cydeo.entity;
+
+import com.cydeo.enums.Status;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Cold copy of a soft-deleted projects row, moved once none of its tasks are left in the tasks table
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "projects_archive")
+public class ArchivedProject {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime insertDateTime;
+    @Column(nullable = false)
+    private Long insertUserId;
+    @Column(nullable = false)
+    private LocalDateTime lastUpdateDateTime;
+    @Column(nullable = false)
+    private Long lastUpdateUserId;
+    private Boolean isDeleted;
+
+    private String projectCode;
+    private String projectName;
+
+    @Column(columnDefinition = "DATE")
+    private LocalDate startDate;
+
+    @Column(columnDefinition = "DATE")
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    private Status projectStatus;
+
+    private String projectDetail;
+    private Long managerId;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+}
@@ -0,0 +1,52 @@
+package com.cydeo.entity;
+
+import com.cydeo.enums.Status;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Cold copy of a tasks row, written by TaskArchiveServiceImpl and only ever read afterwards. No foreign keys: the
+// project may be archived too, so its code is copied alongside the id.
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "tasks_archive")
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime insertDateTime;
+    @Column(nullable = false)
+    private Long insertUserId;
+    @Column(nullable = false)
+    private LocalDateTime lastUpdateDateTime;
+    @Column(nullable = false)
+    private Long lastUpdateUserId;
+    private Boolean isDeleted;
+
+    private String taskSubject;
+    private String taskDetail;
+
+    @Enumerated(EnumType.STRING)
+    private Status taskStatus;
+
+    @Column(columnDefinition = "DATE")
+    private LocalDate assignedDate;
+
+    private Long assignedEmployeeId;
+    private Long projectId;
+    private String projectCode;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+}
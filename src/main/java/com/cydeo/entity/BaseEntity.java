@@ -3,6 +3,9 @@ package com.cydeo.entity;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -13,8 +16,17 @@ import java.time.LocalDateTime;
 @MappedSuperclass
 public class BaseEntity {
 
+    public static final Long DEFAULT_AUDIT_USER_ID = 1L;
+
+    // pooled sequence per entity (task_seq, project_seq, ...) so Hibernate can batch inserts, IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_seq")
+    @GenericGenerator(name = "pooled_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = SequenceStyleGenerator.CONFIG_PREFER_SEQUENCE_PER_ENTITY, value = "true"),
+            @Parameter(name = SequenceStyleGenerator.CONFIG_SEQUENCE_PER_ENTITY_SUFFIX, value = "_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled")
+    })
     private Long id;
 
     @Column(nullable = false, updatable = false)
@@ -32,14 +44,14 @@ public class BaseEntity {
     public void onPrePersist() {
         this.insertDateTime = LocalDateTime.now();
         this.lastUpdateDateTime = LocalDateTime.now();
-        this.insertUserId = 1L;
-        this.lastUpdateUserId = 1L;
+        this.insertUserId = DEFAULT_AUDIT_USER_ID;
+        this.lastUpdateUserId = DEFAULT_AUDIT_USER_ID;
     }
 
     @PreUpdate
     public void onPreUpdate() {
         this.lastUpdateDateTime = LocalDateTime.now();
-        this.lastUpdateUserId = 1L;
+        this.lastUpdateUserId = DEFAULT_AUDIT_USER_ID;
     }
 
 }
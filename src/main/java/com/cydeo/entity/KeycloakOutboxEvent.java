@@ -0,0 +1,61 @@
+package com.cydeo.entity;
+
+import com.cydeo.enums.OutboxEventType;
+import com.cydeo.enums.OutboxStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// Keycloak changes recorded in the same transaction as the users row and replayed by KeycloakOutboxServiceImpl
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "keycloak_outbox", indexes = @Index(name = "idx_keycloak_outbox_status_next_attempt", columnList = "status, nextAttemptAt"))
+public class KeycloakOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "keycloak_outbox_seq")
+    @SequenceGenerator(name = "keycloak_outbox_seq", sequenceName = "keycloak_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private String userName;
+    @Column(length = 36)
+    private String keycloakId;
+    private String firstName;
+    private String lastName;
+    private String passWord;        // USER_CREATE only, cleared once the event is DONE or DEAD
+    private String roleDescription;
+
+    private int attempts;
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;    // while IN_PROGRESS: end of the worker's lease
+    @Version
+    private long version;
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+
+    public KeycloakOutboxEvent(OutboxEventType eventType, String userName) {
+        this.eventType = eventType;
+        this.userName = userName;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+}
@@ -1,9 +1,12 @@
 package com.cydeo.entity;
 
+import com.cydeo.config.SecondLevelCacheConfig;
 import com.cydeo.enums.Status;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
@@ -15,8 +18,13 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "projects")
 @Where(clause = "is_deleted=false")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECTS)
+@NamedEntityGraph(name = Project.WITH_MANAGER, attributeNodes = @NamedAttributeNode("assignedManager"))
 public class Project extends BaseEntity {
 
+    // everything ProjectMapper walks: Project -> manager, roles come from the role catalogue
+    public static final String WITH_MANAGER = "Project.withManager";
+
     @Column(unique = true)
     private String projectCode;
 
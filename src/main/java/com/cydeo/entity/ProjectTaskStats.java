@@ -0,0 +1,27 @@
+package com.cydeo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "project_task_stats")
+public class ProjectTaskStats {   // read model, one row per project, maintained on every task write
+
+    @Id
+    private Long projectId;
+
+    private long openCount;
+    private long inProgressCount;
+    private long completeCount;
+
+}
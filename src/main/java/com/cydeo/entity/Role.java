@@ -1,8 +1,12 @@
 package com.cydeo.entity;
 
+import com.cydeo.config.SecondLevelCacheConfig;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.Table;
 
 @Getter
@@ -11,6 +15,8 @@ import javax.persistence.Table;
 @AllArgsConstructor
 @Entity
 @Table(name = "roles")
+@EntityListeners(RoleChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ROLES)
 public class Role extends BaseEntity {
 
     private String description;
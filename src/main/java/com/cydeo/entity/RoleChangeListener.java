@@ -0,0 +1,39 @@
+package com.cydeo.entity;
+
+import com.cydeo.service.RoleService;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// Reloads the role catalogue once a change to the roles table commits, so a rolled back change never leaks into it.
+// Built by Spring through Hibernate's bean container; RoleService is lazy because it needs the EntityManagerFactory
+// this listener is created for.
+public class RoleChangeListener {
+
+    private final RoleService roleService;
+
+    public RoleChangeListener(@Lazy RoleService roleService) {
+        this.roleService = roleService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Role role) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            roleService.refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                roleService.refresh();
+            }
+        });
+    }
+
+}
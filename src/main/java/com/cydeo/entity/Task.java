@@ -15,8 +15,15 @@ import java.time.LocalDate;
 @Setter
 @NoArgsConstructor
 @Where(clause = "is_deleted=false")
+@NamedEntityGraph(name = Task.WITH_PROJECT_AND_EMPLOYEE, attributeNodes = {
+        @NamedAttributeNode(value = "project", subgraph = "project"),
+        @NamedAttributeNode("assignedEmployee")
+}, subgraphs = @NamedSubgraph(name = "project", attributeNodes = @NamedAttributeNode("assignedManager")))
 public class Task extends BaseEntity{
 
+    // everything TaskMapper walks: Task -> Project -> manager and Task -> employee, roles come from the role catalogue
+    public static final String WITH_PROJECT_AND_EMPLOYEE = "Task.withProjectAndEmployee";
+
     private String taskSubject;
     private String taskDetail;
 
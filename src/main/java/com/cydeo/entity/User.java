@@ -1,9 +1,12 @@
 package com.cydeo.entity;
 
+import com.cydeo.config.SecondLevelCacheConfig;
 import com.cydeo.enums.Gender;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -11,7 +14,8 @@ import javax.persistence.*;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_is_deleted_first_name_id", columnList = "isDeleted, firstName, id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
 //@Where(clause = "is_deleted=false")         // SELECT * FROM users WHERE id = 4 AND is_deleted = false;
 public class User extends BaseEntity {
 
@@ -24,10 +28,13 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private String passWord;
 
+    @Column(unique = true, length = 36)
+    private String keycloakId;      // Keycloak user UUID, addressed directly instead of searching by username
+
     private boolean enabled;
     private String phone;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)     // only the id is read, RoleMapper resolves it from the role catalogue
     @JoinColumn(name = "role_id")
     private Role role;
 
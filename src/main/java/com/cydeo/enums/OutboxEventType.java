@@ -0,0 +1,7 @@
+package com.cydeo.enums;
+
+public enum OutboxEventType {
+
+    USER_CREATE, USER_UPDATE, USER_DELETE
+
+}
@@ -4,17 +4,23 @@ import com.cydeo.annotation.DefaultExceptionMessage;
 import com.cydeo.dto.DefaultExceptionMessageDto;
 
 import com.cydeo.dto.ResponseWrapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.util.ObjectUtils;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.HandlerMethod;
 
 import java.lang.reflect.Method;
+import java.util.Comparator;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -24,6 +30,24 @@ public class GlobalExceptionHandler {
         String message = se.getMessage();
         return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.CONFLICT.value()).message(message).build(),HttpStatus.CONFLICT);
     }
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ResponseWrapper> invalidCursorException(InvalidCursorException se){
+        String message = se.getMessage();
+        return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.BAD_REQUEST.value()).message(message).build(),HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ResponseWrapper> validationException(MethodArgumentNotValidException se){
+        String message = se.getBindingResult().getFieldErrors().stream()
+                .sorted(Comparator.comparing(FieldError::getField))
+                .map(error -> error.getField() + " " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.BAD_REQUEST.value()).message(message).build(),HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ResponseWrapper> rejectedExecutionException(RejectedExecutionException se){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ResponseWrapper.builder().success(false).code(HttpStatus.SERVICE_UNAVAILABLE.value()).message("Server is busy, please retry").build());
+    }
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ResponseWrapper> accessDeniedException(AccessDeniedException se){
         String message = se.getMessage();
@@ -0,0 +1,14 @@
+package com.cydeo.mapper;
+
+import com.cydeo.dto.ArchivedTaskDTO;
+import com.cydeo.entity.ArchivedTask;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = CentralMapperConfig.class)
+public interface ArchivedTaskMapper {
+
+    @Mapping(target = "deleted", source = "isDeleted")
+    ArchivedTaskDTO convertToDto(ArchivedTask entity);
+
+}
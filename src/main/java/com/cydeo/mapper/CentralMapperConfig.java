@@ -0,0 +1,25 @@
+package com.cydeo.mapper;
+
+import com.cydeo.entity.BaseEntity;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapping;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingInheritanceStrategy;
+import org.mapstruct.ReportingPolicy;
+
+// Shared settings for the generated mappers: Spring beans wired through constructors, and a build error for any
+// target property nobody maps, so a new field cannot be dropped silently. Deliberate gaps are listed with ignore:
+// the audit columns below for every DTO -> entity method, the rest on the mapper they belong to.
+@MapperConfig(componentModel = "spring", injectionStrategy = InjectionStrategy.CONSTRUCTOR, unmappedTargetPolicy = ReportingPolicy.ERROR,
+        mappingInheritanceStrategy = MappingInheritanceStrategy.AUTO_INHERIT_FROM_CONFIG)
+public interface CentralMapperConfig {
+
+    // filled by BaseEntity's @PrePersist/@PreUpdate; soft deletes go through the services
+    @Mapping(target = "insertDateTime", ignore = true)
+    @Mapping(target = "insertUserId", ignore = true)
+    @Mapping(target = "lastUpdateDateTime", ignore = true)
+    @Mapping(target = "lastUpdateUserId", ignore = true)
+    @Mapping(target = "isDeleted", ignore = true)
+    BaseEntity convertToEntity(Object dto);
+
+}
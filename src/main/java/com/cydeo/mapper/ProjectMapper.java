@@ -2,26 +2,20 @@ package com.cydeo.mapper;
 
 import com.cydeo.dto.ProjectDTO;
 import com.cydeo.entity.Project;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Component
-public class ProjectMapper {
+@Mapper(config = CentralMapperConfig.class, uses = UserMapper.class)
+public interface ProjectMapper {
 
-    private final ModelMapper modelMapper;
+    @Mapping(target = "assignedManager", source = "assignedManager")
+    Project convertToEntity(ProjectDTO dto);
 
-    public ProjectMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
-    public Project convertToEntity(ProjectDTO dto){
-        return modelMapper.map(dto,Project.class);
-
-    }
-
-    public ProjectDTO convertToDto(Project entity){
-
-        return modelMapper.map(entity,ProjectDTO.class);
-    }
+    @Mapping(target = "assignedManager", source = "assignedManager")
+    @Mapping(target = "completeTaskCounts", ignore = true)     // dashboard counters, filled by ProjectRepository's stats query
+    @Mapping(target = "unfinishedTaskCounts", ignore = true)
+    @Mapping(target = "openTaskCounts", ignore = true)
+    @Mapping(target = "inProgressTaskCounts", ignore = true)
+    ProjectDTO convertToDto(Project entity);
 
 }
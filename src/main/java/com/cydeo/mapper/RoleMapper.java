@@ -2,24 +2,34 @@ package com.cydeo.mapper;
 
 import com.cydeo.dto.RoleDTO;
 import com.cydeo.entity.Role;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import com.cydeo.service.RoleService;
+import org.mapstruct.Mapper;
+import org.mapstruct.Named;
+import org.springframework.beans.factory.annotation.Autowired;
 
-@Component
-public class RoleMapper {
+// Roles map from the in-memory catalogue by id, so a lazy User.role is never initialized. Roles the catalogue does
+// not know yet, and every role when the mapper is used without Spring, are copied from the entity.
+@Mapper(config = CentralMapperConfig.class)
+public abstract class RoleMapper {
 
-    private ModelMapper modelMapper;
+    private RoleService roleService;
 
-    public RoleMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    @Autowired(required = false)
+    public void setRoleService(RoleService roleService) {
+        this.roleService = roleService;
     }
 
-    public Role convertToEntity(RoleDTO dto){
-        return modelMapper.map(dto,Role.class);
-    }
+    public abstract Role convertToEntity(RoleDTO dto);
 
-    public RoleDTO convertToDto(Role entity){
-        return modelMapper.map(entity,RoleDTO.class);
+    public RoleDTO convertToDto(Role entity) {
+        if (entity == null) {
+            return null;
+        }
+        RoleDTO role = roleService == null ? null : roleService.findById(entity.getId());
+        return role != null ? role : copy(entity);
     }
 
+    @Named("copy")
+    protected abstract RoleDTO copy(Role entity);
+
 }
@@ -2,23 +2,18 @@ package com.cydeo.mapper;
 
 import com.cydeo.dto.TaskDTO;
 import com.cydeo.entity.Task;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Component
-public class TaskMapper {
+@Mapper(config = CentralMapperConfig.class, uses = {ProjectMapper.class, UserMapper.class})
+public interface TaskMapper {
 
-    private final  ModelMapper modelMapper;
+    @Mapping(target = "project", source = "project")
+    @Mapping(target = "assignedEmployee", source = "assignedEmployee")
+    Task convertToEntity(TaskDTO dto);
 
-    public TaskMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
+    @Mapping(target = "project", source = "project")
+    @Mapping(target = "assignedEmployee", source = "assignedEmployee")
+    TaskDTO convertToDto(Task entity);
 
-    public Task convertToEntity(TaskDTO dto){
-        return modelMapper.map(dto,Task.class);
-    }
-
-    public TaskDTO convertToDto(Task entity){
-        return modelMapper.map(entity,TaskDTO.class);
-    }
 }
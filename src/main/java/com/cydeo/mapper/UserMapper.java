@@ -2,25 +2,18 @@ package com.cydeo.mapper;
 
 import com.cydeo.dto.UserDTO;
 import com.cydeo.entity.User;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Component
-public class UserMapper {
+@Mapper(config = CentralMapperConfig.class, uses = RoleMapper.class)
+public interface UserMapper {
 
-    private final ModelMapper modelMapper;
+    @Mapping(target = "role", source = "role")
+    @Mapping(target = "keycloakId", ignore = true)     // owned by the Keycloak outbox, carried over by UserServiceImpl.update
+    User convertToEntity(UserDTO dto);
 
-    public UserMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
-    public User convertToEntity(UserDTO dto){
-        return modelMapper.map(dto,User.class);
-
-    }
-
-    public UserDTO convertToDto(User entity){
-        return modelMapper.map(entity,UserDTO.class);
-    }
+    @Mapping(target = "role", source = "role")
+    @Mapping(target = "confirmPassWord", ignore = true)
+    UserDTO convertToDto(User entity);
 
 }
@@ -0,0 +1,21 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.ArchivedProject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ArchivedProjectRepository extends JpaRepository<ArchivedProject, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO projects_archive (id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, " +
+            "end_date, project_code, project_detail, project_name, project_status, start_date, manager_id, archived_at) " +
+            "SELECT id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, " +
+            "end_date, project_code, project_detail, project_name, project_status, start_date, manager_id, ?2 " +
+            "FROM projects WHERE id IN ?1", nativeQuery = true)
+    int copyFromProjects(Collection<Long> ids, LocalDateTime archivedAt);
+
+}
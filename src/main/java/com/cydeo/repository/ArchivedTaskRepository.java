@@ -0,0 +1,40 @@
+package com.cydeo.repository;
+
+import com.cydeo.dto.TaskStatusCountDTO;
+import com.cydeo.entity.ArchivedTask;
+import com.cydeo.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO tasks_archive (id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, " +
+            "assigned_date, task_detail, task_status, task_subject, assigned_employee_id, project_id, project_code, archived_at) " +
+            "SELECT t.id, t.insert_date_time, t.insert_user_id, t.is_deleted, t.last_update_date_time, t.last_update_user_id, " +
+            "t.assigned_date, t.task_detail, t.task_status, t.task_subject, t.assigned_employee_id, t.project_id, p.project_code, ?2 " +
+            "FROM tasks t LEFT JOIN projects p ON p.id = t.project_id WHERE t.id IN ?1", nativeQuery = true)
+    int copyFromTasks(Collection<Long> ids, LocalDateTime archivedAt);
+
+    // keyset pages, newest first
+    List<ArchivedTask> findAllByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+    List<ArchivedTask> findAllByProjectCodeAndIdLessThanOrderByIdDesc(String projectCode, Long id, Pageable pageable);
+    List<ArchivedTask> findAllByAssignedEmployeeIdAndTaskStatusAndIsDeletedAndIdLessThanOrderByIdDesc(Long assignedEmployeeId, Status taskStatus,
+                                                                                                      Boolean deleted, Long id, Pageable pageable);
+
+    // archived tasks still count towards their project, see ProjectTaskStatsServiceImpl.reconcile
+    @Query("SELECT new com.cydeo.dto.TaskStatusCountDTO(a.projectId, a.taskStatus, COUNT(a)) FROM ArchivedTask a " +
+            "WHERE a.projectId IS NOT NULL AND a.isDeleted = false GROUP BY a.projectId, a.taskStatus")
+    List<TaskStatusCountDTO> countAllByProjectAndStatus();
+
+    @Query("SELECT new com.cydeo.dto.TaskStatusCountDTO(a.projectId, a.taskStatus, COUNT(a)) FROM ArchivedTask a " +
+            "WHERE a.projectId = ?1 AND a.isDeleted = false GROUP BY a.projectId, a.taskStatus")
+    List<TaskStatusCountDTO> countByProjectAndStatus(Long projectId);
+
+}
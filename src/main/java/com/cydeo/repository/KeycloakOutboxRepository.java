@@ -0,0 +1,40 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.KeycloakOutboxEvent;
+import com.cydeo.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface KeycloakOutboxRepository extends JpaRepository<KeycloakOutboxEvent, Long> {
+
+    // FOR UPDATE SKIP LOCKED (-2): several instances can claim from the outbox without picking the same rows.
+    // Due means pending and past its backoff, or in progress past its lease (the worker died or hung).
+    // An event waits while an older event of the same user is still open, so create/update/delete apply in order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM KeycloakOutboxEvent e WHERE e.status IN ?1 AND e.nextAttemptAt <= ?2 " +
+            "AND NOT EXISTS (SELECT p.id FROM KeycloakOutboxEvent p WHERE p.userName = e.userName AND p.status IN ?1 AND p.id < e.id) " +
+            "ORDER BY e.id")
+    List<KeycloakOutboxEvent> findDueForUpdate(Collection<OutboxStatus> statuses, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+    long countByStatusIn(Collection<OutboxStatus> statuses);
+
+    @Query("SELECT MIN(e.createdAt) FROM KeycloakOutboxEvent e WHERE e.status IN ?1")
+    LocalDateTime findOldestCreatedAt(Collection<OutboxStatus> statuses);
+
+    @Modifying
+    @Query("DELETE FROM KeycloakOutboxEvent e WHERE e.status IN ?1 AND e.processedAt < ?2")
+    int deleteProcessedBefore(Collection<OutboxStatus> statuses, LocalDateTime before);
+
+}
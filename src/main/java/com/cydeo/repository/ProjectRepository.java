@@ -1,16 +1,72 @@
 package com.cydeo.repository;
 
+import com.cydeo.dto.ProjectDTO;
 import com.cydeo.entity.Project;
 import com.cydeo.entity.User;
 import com.cydeo.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project,Long> {
 
+    // cached until the projects table changes, the project itself then comes from the entity cache
+    @EntityGraph(Project.WITH_MANAGER)
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Project findByProjectCode(String code);
     List<Project> findAllByAssignedManager(User manager);
+    @EntityGraph(Project.WITH_MANAGER)
     List<Project> findAllByProjectStatusIsNotAndAssignedManager(Status status, User assignedManager);
 
+    @Override
+    @EntityGraph(Project.WITH_MANAGER)
+    List<Project> findAll(Sort sort);
+
+    @Query("SELECT new com.cydeo.dto.ProjectDTO(p.id, p.projectName, p.projectCode, p.startDate, p.endDate, p.projectDetail, p.projectStatus, " +
+            "COALESCE(s.openCount, 0L), COALESCE(s.inProgressCount, 0L), COALESCE(s.completeCount, 0L)) " +
+            "FROM Project p LEFT JOIN ProjectTaskStats s ON s.projectId = p.id " +
+            "WHERE p.assignedManager.id = ?1 " +
+            "ORDER BY p.projectCode")
+    List<ProjectDTO> findProjectDetailsByAssignedManager(Long managerId);
+
+    // keyset pages, backed by the unique index on project_code
+    @EntityGraph(Project.WITH_MANAGER)
+    List<Project> findAllByOrderByProjectCode(Pageable pageable);
+    @EntityGraph(Project.WITH_MANAGER)
+    List<Project> findAllByProjectCodeGreaterThanOrderByProjectCode(String projectCode, Pageable pageable);
+
+    @Query("SELECT p.id FROM Project p")
+    List<Long> findAllIds();
+
+    // id and last_update_date_time of every row ProjectMapper reads, for conditional GETs without loading the entities
+    @Query("SELECT p.id, p.lastUpdateDateTime, m.id, m.lastUpdateDateTime FROM Project p LEFT JOIN p.assignedManager m " +
+            "WHERE p.projectCode = ?1")
+    List<Object[]> findVersionByProjectCode(String code);
+
+    @Query("SELECT p.id, p.lastUpdateDateTime, m.id, m.lastUpdateDateTime FROM Project p LEFT JOIN p.assignedManager m " +
+            "ORDER BY p.projectCode")
+    List<Object[]> findVersionsOrderByProjectCode(Pageable pageable);
+
+    @Query("SELECT p.id, p.lastUpdateDateTime, m.id, m.lastUpdateDateTime FROM Project p LEFT JOIN p.assignedManager m " +
+            "WHERE p.projectCode > ?1 ORDER BY p.projectCode")
+    List<Object[]> findVersionsByProjectCodeGreaterThanOrderByProjectCode(String projectCode, Pageable pageable);
+
+    // archiver batches: soft-deleted projects none of whose tasks (live or soft-deleted) are left in the tasks table
+    @Query(value = "SELECT p.id FROM projects p WHERE p.is_deleted = true " +
+            "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.project_id = p.id) " +
+            "LIMIT ?1 FOR UPDATE", nativeQuery = true)
+    List<Long> findArchivableIdsForUpdate(int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM projects WHERE id IN ?1", nativeQuery = true)
+    int deleteAllByIds(Collection<Long> ids);
+
 }
@@ -0,0 +1,41 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.ProjectTaskStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ProjectTaskStatsRepository extends JpaRepository<ProjectTaskStats, Long> {
+
+    // Counters are read as scalars: the updates below leave the persistence context alone, so a ProjectTaskStats
+    // loaded earlier in the same transaction may hold old counts.
+    @Query("SELECT s.openCount + s.inProgressCount FROM ProjectTaskStats s " +
+            "WHERE s.projectId = (SELECT p.id FROM Project p WHERE p.projectCode = ?1)")
+    Optional<Long> findNonCompletedCountByProjectCode(String projectCode);
+
+    @Query("SELECT s.completeCount FROM ProjectTaskStats s WHERE s.projectId = (SELECT p.id FROM Project p WHERE p.projectCode = ?1)")
+    Optional<Long> findCompletedCountByProjectCode(String projectCode);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProjectTaskStats s SET s.openCount = s.openCount + ?2, s.inProgressCount = s.inProgressCount + ?3, " +
+            "s.completeCount = s.completeCount + ?4 WHERE s.projectId = ?1")
+    int increment(Long projectId, long open, long inProgress, long complete);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProjectTaskStats s SET s.completeCount = s.openCount + s.inProgressCount + s.completeCount, " +
+            "s.openCount = 0, s.inProgressCount = 0 WHERE s.projectId = ?1")
+    int completeAll(Long projectId);
+
+    // reconcile: held until commit, so no increment can land between the recount and the overwrite
+    @Query(value = "SELECT project_id FROM project_task_stats WHERE project_id = ?1 FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(Long projectId);
+
+    // 0 when the row already holds these counts
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProjectTaskStats s SET s.openCount = ?2, s.inProgressCount = ?3, s.completeCount = ?4 " +
+            "WHERE s.projectId = ?1 AND (s.openCount <> ?2 OR s.inProgressCount <> ?3 OR s.completeCount <> ?4)")
+    int overwrite(Long projectId, long open, long inProgress, long complete);
+
+}
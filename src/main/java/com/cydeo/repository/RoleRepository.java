@@ -1,12 +1,23 @@
 package com.cydeo.repository;
 
+import com.cydeo.dto.RoleDTO;
 import com.cydeo.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
 @Repository
 public interface RoleRepository extends JpaRepository<Role,Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Role findByDescription(String description);
 
+    // the whole role catalogue, read straight into DTOs
+    @Query("SELECT new com.cydeo.dto.RoleDTO(r.id, r.description) FROM Role r ORDER BY r.id")
+    List<RoleDTO> findAllRoles();
+
 }
@@ -1,29 +1,89 @@
 package com.cydeo.repository;
 
+import com.cydeo.dto.TaskStatusCountDTO;
 import com.cydeo.entity.Project;
 import com.cydeo.entity.Task;
 import com.cydeo.entity.User;
 import com.cydeo.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<Task,Long> {
 
+    @Query("SELECT new com.cydeo.dto.TaskStatusCountDTO(t.project.id, t.taskStatus, COUNT(t)) FROM Task t " +
+            "WHERE t.project IS NOT NULL GROUP BY t.project.id, t.taskStatus")
+    List<TaskStatusCountDTO> countAllByProjectAndStatus();
 
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.projectCode = ?1 AND t.taskStatus <> 'COMPLETE'")
-    int totalNonCompletedTasks(String projectCode);
-
-    @Query(value = "SELECT COUNT(*) " +
-            "FROM tasks t JOIN projects p on t.project_id=p.id " +
-            "WHERE p.project_code=?1 AND t.task_status='COMPLETE'", nativeQuery = true)
-    int totalCompletedTasks(String projectCode);
+    @Query("SELECT new com.cydeo.dto.TaskStatusCountDTO(t.project.id, t.taskStatus, COUNT(t)) FROM Task t " +
+            "WHERE t.project.id = ?1 GROUP BY t.project.id, t.taskStatus")
+    List<TaskStatusCountDTO> countByProjectAndStatus(Long projectId);
 
     List<Task> findAllByProject(Project project);
 
+    @Override
+    @EntityGraph(Task.WITH_PROJECT_AND_EMPLOYEE)
+    List<Task> findAll();
+
+    // GET /api/v1/task/{id} maps the project, its manager and the employee, one statement instead of three
+    @Override
+    @EntityGraph(Task.WITH_PROJECT_AND_EMPLOYEE)
+    Optional<Task> findById(Long id);
+
+    // keyset pages, backed by the primary key
+    @EntityGraph(Task.WITH_PROJECT_AND_EMPLOYEE)
+    List<Task> findAllByOrderById(Pageable pageable);
+    @EntityGraph(Task.WITH_PROJECT_AND_EMPLOYEE)
+    List<Task> findAllByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    // bulk updates skip @PreUpdate, so the audit columns are set explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.taskStatus = ?2, t.lastUpdateDateTime = ?3, t.lastUpdateUserId = ?4 " +
+            "WHERE t.project.id = ?1 AND t.taskStatus <> ?2 AND t.isDeleted = false")
+    int updateStatusByProject(Long projectId, Status status, LocalDateTime lastUpdateDateTime, Long lastUpdateUserId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isDeleted = true, t.lastUpdateDateTime = ?2, t.lastUpdateUserId = ?3 " +
+            "WHERE t.project.id = ?1 AND t.isDeleted = false")
+    int softDeleteByProject(Long projectId, LocalDateTime lastUpdateDateTime, Long lastUpdateUserId);
+
+    @EntityGraph(Task.WITH_PROJECT_AND_EMPLOYEE)
     List<Task> findAllByTaskStatusIsNotAndAssignedEmployee(Status status, User user);
 
+    @EntityGraph(Task.WITH_PROJECT_AND_EMPLOYEE)
     List<Task> findAllByTaskStatusAndAssignedEmployee(Status status, User user);
 
+    // id and last_update_date_time of every row TaskMapper reads, for conditional GETs without loading the entities
+    @Query("SELECT t.id, t.lastUpdateDateTime, p.id, p.lastUpdateDateTime, m.id, m.lastUpdateDateTime, e.id, e.lastUpdateDateTime " +
+            "FROM Task t LEFT JOIN t.project p LEFT JOIN p.assignedManager m LEFT JOIN t.assignedEmployee e WHERE t.id = ?1")
+    List<Object[]> findVersionById(Long id);
+
+    @Query("SELECT t.id, t.lastUpdateDateTime, p.id, p.lastUpdateDateTime, m.id, m.lastUpdateDateTime, e.id, e.lastUpdateDateTime " +
+            "FROM Task t LEFT JOIN t.project p LEFT JOIN p.assignedManager m LEFT JOIN t.assignedEmployee e ORDER BY t.id")
+    List<Object[]> findVersionsOrderById(Pageable pageable);
+
+    @Query("SELECT t.id, t.lastUpdateDateTime, p.id, p.lastUpdateDateTime, m.id, m.lastUpdateDateTime, e.id, e.lastUpdateDateTime " +
+            "FROM Task t LEFT JOIN t.project p LEFT JOIN p.assignedManager m LEFT JOIN t.assignedEmployee e WHERE t.id > ?1 ORDER BY t.id")
+    List<Object[]> findVersionsByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    // archiver batches, native because @Where hides soft-deleted rows from JPQL. The rows stay locked until they are
+    // moved, so a concurrent update can not slip in between the copy and the delete.
+    @Query(value = "SELECT id FROM tasks WHERE is_deleted = true LIMIT ?1 FOR UPDATE", nativeQuery = true)
+    List<Long> findDeletedIdsForUpdate(int limit);
+
+    @Query(value = "SELECT id FROM tasks WHERE task_status = 'COMPLETE' AND is_deleted = false " +
+            "AND last_update_date_time < ?1 LIMIT ?2 FOR UPDATE", nativeQuery = true)
+    List<Long> findCompletedBeforeIdsForUpdate(LocalDateTime cutoff, int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN ?1", nativeQuery = true)
+    int deleteAllByIds(Collection<Long> ids);
+
 }
@@ -1,8 +1,13 @@
 package com.cydeo.repository;
 
 import com.cydeo.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
 import java.util.List;
 
@@ -10,8 +15,25 @@ public interface UserRepository extends JpaRepository<User,Long> {
 
     List<User> findAllByIsDeletedOrderByFirstNameDesc(Boolean deleted);
 
+    // keyset pages on (first_name DESC, id DESC), backed by idx_users_is_deleted_first_name_id
+    List<User> findAllByIsDeletedOrderByFirstNameDescIdDesc(Boolean deleted, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false " +
+            "AND (u.firstName < ?1 OR (u.firstName = ?1 AND u.id < ?2)) " +
+            "ORDER BY u.firstName DESC, u.id DESC")
+    List<User> findAllAfter(String firstName, Long id, Pageable pageable);
+
+    // cached until the users table changes, so the soft-delete rename is seen right away
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     User findByUserNameAndIsDeleted(String username, Boolean deleted);
 
+    @Modifying
+    @Query("UPDATE User u SET u.keycloakId = ?2 WHERE u.userName = ?1")
+    int updateKeycloakId(String userName, String keycloakId);
+
+    // backfill pages on id over users created before keycloak_id was stored
+    List<User> findAllByKeycloakIdIsNullAndIsDeletedAndIdGreaterThanOrderById(Boolean deleted, Long id, Pageable pageable);
+
 
     @Transactional
     void deleteByUserName(String username);
@@ -0,0 +1,11 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.AuditEventDTO;
+
+public interface AuditLogService {
+
+    boolean isSampled(String endpoint);
+    String summarize(Object result);
+    void publish(AuditEventDTO event);
+
+}
@@ -0,0 +1,10 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.UserDTO;
+
+public interface CurrentUserService {
+
+    String getUsername();
+    UserDTO getUser();
+
+}
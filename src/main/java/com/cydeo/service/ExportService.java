@@ -0,0 +1,14 @@
+package com.cydeo.service;
+
+import com.cydeo.enums.ExportFormat;
+import com.cydeo.enums.Status;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    long exportTasks(String projectCode, Status status, String assignedEmployee, ExportFormat format, OutputStream out) throws IOException;
+    long exportProjects(ExportFormat format, OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,7 @@
+package com.cydeo.service;
+
+public interface KeycloakIdBackfillService {
+
+    int backfill();
+
+}
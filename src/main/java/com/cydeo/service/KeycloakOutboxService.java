@@ -0,0 +1,15 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.UserDTO;
+
+public interface KeycloakOutboxService {
+
+    void enqueueCreate(UserDTO user);
+    void enqueueUpdate(UserDTO user, String keycloakId);
+    void enqueueDelete(String userName, String keycloakId);
+
+    int processBatch();
+    void drain();
+    int purge();
+
+}
@@ -2,12 +2,15 @@ package com.cydeo.service;
 
 import com.cydeo.dto.UserDTO;
 
-import javax.ws.rs.core.Response; // Response class -> access User in keycloak
+import java.util.Optional;
 
 public interface KeycloakService {
 
 
-    Response userCreate(UserDTO dto);
-    void delete(String username);
+    String userCreate(UserDTO dto);     // returns the Keycloak user id
+    void update(String keycloakId, UserDTO dto);
+    void delete(String keycloakId);
+
+    Optional<String> findIdByUserName(String userName);
 
 }
@@ -1,7 +1,9 @@
 package com.cydeo.service;
 
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.ProjectDTO;
 import com.cydeo.dto.UserDTO;
+import com.cydeo.util.ResourceVersion;
 
 import java.util.List;
 
@@ -9,6 +11,11 @@ public interface ProjectService {
 
     ProjectDTO getByProjectCode(String code);
     List<ProjectDTO> listAllProjects();
+    PageDTO<ProjectDTO> listProjectsPage(String cursor, Integer size);
+
+    ResourceVersion getVersionByProjectCode(String code);
+
+    ResourceVersion getProjectsPageVersion(String cursor, Integer size);
     void save(ProjectDTO dto);
     void update(ProjectDTO dto);
     void delete(String code);
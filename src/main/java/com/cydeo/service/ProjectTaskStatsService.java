@@ -0,0 +1,24 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.TaskStatusCountDTO;
+import com.cydeo.enums.Status;
+
+import java.util.List;
+
+public interface ProjectTaskStatsService {
+
+    void projectCreated(Long projectId);
+    void projectCompleted(Long projectId);
+    void projectDeleted(Long projectId);
+
+    void taskCreated(Long projectId, Status status);
+    void taskChanged(Long oldProjectId, Status oldStatus, Long newProjectId, Status newStatus);
+    void taskDeleted(Long projectId, Status status);
+    void applyDeltas(List<TaskStatusCountDTO> deltas);
+
+    int totalNonCompletedTask(String projectCode);
+    int totalCompletedTask(String projectCode);
+
+    int reconcile();
+
+}
@@ -8,4 +8,5 @@ public interface RoleService {
 
     List<RoleDTO> listAllRoles();
     RoleDTO findById(Long id);
+    void refresh();
 }
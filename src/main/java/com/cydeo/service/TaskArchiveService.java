@@ -0,0 +1,13 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.ArchivedTaskDTO;
+import com.cydeo.dto.PageDTO;
+
+public interface TaskArchiveService {
+
+    int archive();
+
+    PageDTO<ArchivedTaskDTO> listArchivedTasksPage(String projectCode, String cursor, Integer size);
+    PageDTO<ArchivedTaskDTO> listEmployeeArchivedTasksPage(String cursor, Integer size);
+
+}
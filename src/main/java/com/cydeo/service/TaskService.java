@@ -1,9 +1,13 @@
 package com.cydeo.service;
 
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.TaskBatchResultDTO;
 import com.cydeo.dto.TaskDTO;
 import com.cydeo.dto.UserDTO;
+import com.cydeo.util.ResourceVersion;
 import com.cydeo.enums.Status;
+import com.cydeo.exception.TicketingProjectException;
 
 import java.util.List;
 
@@ -11,11 +15,19 @@ public interface TaskService {
 
     TaskDTO findById(Long id);
     List<TaskDTO> listAllTasks();
+    PageDTO<TaskDTO> listTasksPage(String cursor, Integer size);
+
+    ResourceVersion getVersionById(Long id);
+
+    ResourceVersion getTasksPageVersion(String cursor, Integer size);
 
     void save(TaskDTO dto);
     void update(TaskDTO dto);
     void delete(Long id);
 
+    List<TaskBatchResultDTO> saveAll(List<TaskDTO> dtos) throws TicketingProjectException;
+    List<TaskBatchResultDTO> updateAll(List<TaskDTO> dtos) throws TicketingProjectException;
+
     int totalNonCompletedTask(String projectCode);
     int totalCompletedTask(String projectCode);
 
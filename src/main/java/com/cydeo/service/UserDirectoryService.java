@@ -0,0 +1,11 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.UserDTO;
+
+public interface UserDirectoryService {
+
+    UserDTO findByUserName(String username);
+    void invalidate(String username);
+    void invalidateAll();
+
+}
@@ -1,6 +1,7 @@
 package com.cydeo.service;
 
 
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.exception.TicketingProjectException;
 
@@ -10,6 +11,7 @@ public interface UserService  {
 
     UserDTO findByUserName(String username) ;
     List<UserDTO> listAllUsers();
+    PageDTO<UserDTO> listUsersPage(String cursor, Integer size);
     UserDTO save(UserDTO user);
 
 //    void deleteByUserName(String username);
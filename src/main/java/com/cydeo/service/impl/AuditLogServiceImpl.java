@@ -0,0 +1,172 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.AuditEventDTO;
+import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.service.AuditLogService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Controller audit events go through a bounded in-memory ring to one writer thread. A request thread only samples,
+// builds a short summary and offers the event; when the ring is full the event is dropped and counted, never waited for.
+@Service
+@Slf4j
+public class AuditLogServiceImpl implements AuditLogService {
+
+    public static final String AUDIT_LOGGER = "com.cydeo.audit";
+    private static final Logger audit = LoggerFactory.getLogger(AUDIT_LOGGER);
+
+    private final BlockingQueue<AuditEventDTO> queue;
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+    private final int maxSummaryLength;
+    private final Thread writer;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter sampledOut;
+
+    public AuditLogServiceImpl(MeterRegistry meterRegistry,
+                               @Value("${ticketing.audit.queue-capacity}") int queueCapacity,
+                               @Value("${ticketing.audit.default-sample-rate}") double defaultSampleRate,
+                               @Value("${ticketing.audit.sample-rates}") List<String> sampleRates,
+                               @Value("${ticketing.audit.max-summary-length}") int maxSummaryLength) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = parseSampleRates(sampleRates);
+        this.maxSummaryLength = maxSummaryLength;
+
+        this.written = meterRegistry.counter("audit.events", "result", "written");
+        this.dropped = meterRegistry.counter("audit.events", "result", "dropped");
+        this.sampledOut = meterRegistry.counter("audit.events", "result", "sampled_out");
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting for the writer thread")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::write, "audit-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @Override
+    public boolean isSampled(String endpoint) {
+        double rate = sampleRates.getOrDefault(endpoint, defaultSampleRate);
+        if (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate) {
+            return true;
+        }
+        sampledOut.increment();
+        return false;
+    }
+
+    @Override
+    public String summarize(Object result) {
+        StringBuilder summary = new StringBuilder();
+        appendSummary(summary, result);
+        if (summary.length() > maxSummaryLength) {
+            summary.setLength(maxSummaryLength);
+            summary.append("...");
+        }
+        return summary.toString();
+    }
+
+    @Override
+    public void publish(AuditEventDTO event) {
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void write() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                log(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Audit event could not be written -> Error: {}", e.getMessage());
+            }
+        }
+        List<AuditEventDTO> remaining = new ArrayList<>();     // flush what was accepted before shutdown
+        queue.drainTo(remaining);
+        remaining.forEach(this::log);
+    }
+
+    private void log(AuditEventDTO event) {
+        audit.info("Audit -> Time: {}, Endpoint: {}, User: {}, Outcome: {}, Result: {}"
+                , event.getTimestamp(), event.getEndpoint(), event.getUser(), event.getOutcome(), event.getResult());
+        written.increment();
+    }
+
+    // sizes instead of contents for lists, so a page of tasks costs the same to audit as a single task
+    private void appendSummary(StringBuilder summary, Object result) {
+        if (result instanceof ResponseEntity) {
+            ResponseEntity<?> response = (ResponseEntity<?>) result;
+            summary.append("status=").append(response.getStatusCodeValue()).append(", body={");
+            appendSummary(summary, response.getBody());
+            summary.append('}');
+        } else if (result instanceof ResponseWrapper) {
+            ResponseWrapper wrapper = (ResponseWrapper) result;
+            summary.append("success=").append(wrapper.isSuccess())
+                    .append(", code=").append(wrapper.getCode())
+                    .append(", message=").append(wrapper.getMessage());
+            if (wrapper.getData() != null) {
+                summary.append(", data=");
+                appendSummary(summary, wrapper.getData());
+            }
+            if (wrapper.getNextCursor() != null) {
+                summary.append(", hasNext=true");
+            }
+        } else if (result instanceof Collection) {
+            summary.append('[').append(((Collection<?>) result).size()).append(" items]");
+        } else if (result != null) {
+            String text = String.valueOf(result);
+            summary.append(text, 0, Math.min(text.length(), maxSummaryLength + 1));
+        } else {
+            summary.append("null");
+        }
+    }
+
+    private Map<String, Double> parseSampleRates(List<String> rates) {
+        Map<String, Double> parsed = new HashMap<>();
+        for (String rate : rates) {
+            if (rate.isBlank()) {
+                continue;
+            }
+            String[] entry = rate.split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Invalid audit sample rate, expected Controller.method=rate: " + rate);
+            }
+            parsed.put(entry[0].trim(), Double.parseDouble(entry[1].trim()));
+        }
+        return parsed;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.UserDTO;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.UserDirectoryService;
+import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.annotation.RequestScope;
+
+// Resolves the logged-in user once per request: the token is read on first use, the user comes from the user directory.
+@Service
+@RequestScope
+public class CurrentUserServiceImpl implements CurrentUserService {
+
+    private final UserDirectoryService userDirectoryService;
+
+    private String username;
+    private UserDTO user;
+
+    public CurrentUserServiceImpl(UserDirectoryService userDirectoryService) {
+        this.userDirectoryService = userDirectoryService;
+    }
+
+    @Override
+    public String getUsername() {
+        if (username == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            SimpleKeycloakAccount details = (SimpleKeycloakAccount) authentication.getDetails();
+            username = details.getKeycloakSecurityContext().getToken().getPreferredUsername();
+        }
+        return username;
+    }
+
+    @Override
+    public UserDTO getUser() {
+        if (user == null) {
+            user = userDirectoryService.findByUserName(getUsername());
+        }
+        return user;
+    }
+
+}
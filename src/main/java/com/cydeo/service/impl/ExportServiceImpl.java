@@ -0,0 +1,227 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.enums.ExportFormat;
+import com.cydeo.enums.Status;
+import com.cydeo.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Exports stream straight from a forward-only JDBC cursor: no entities, no DTO lists, one row in memory at a time.
+// PostgreSQL only honours the fetch size inside a transaction, hence @Transactional(readOnly = true).
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final String TASK_EXPORT_SQL = "SELECT t.id AS \"id\", t.task_subject AS \"taskSubject\", t.task_detail AS \"taskDetail\", " +
+            "t.task_status AS \"taskStatus\", t.assigned_date AS \"assignedDate\", p.project_code AS \"projectCode\", " +
+            "p.project_name AS \"projectName\", u.user_name AS \"assignedEmployee\" " +
+            "FROM tasks t LEFT JOIN projects p ON p.id = t.project_id LEFT JOIN users u ON u.id = t.assigned_employee_id " +
+            "WHERE t.is_deleted = false";
+
+    private static final String PROJECT_EXPORT_SQL = "SELECT p.id AS \"id\", p.project_code AS \"projectCode\", p.project_name AS \"projectName\", " +
+            "p.start_date AS \"startDate\", p.end_date AS \"endDate\", p.project_status AS \"projectStatus\", " +
+            "p.project_detail AS \"projectDetail\", u.user_name AS \"assignedManager\" " +
+            "FROM projects p LEFT JOIN users u ON u.id = p.manager_id " +
+            "WHERE p.is_deleted = false ORDER BY p.project_code";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportServiceImpl(DataSource dataSource, ObjectMapper objectMapper, @Value("${ticketing.export.fetch-size}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(String projectCode, Status status, String assignedEmployee, ExportFormat format, OutputStream out) throws IOException {
+
+        StringBuilder sql = new StringBuilder(TASK_EXPORT_SQL);
+        List<Object> args = new ArrayList<>();
+        if (projectCode != null) {
+            sql.append(" AND p.project_code = ?");
+            args.add(projectCode);
+        }
+        if (status != null) {
+            sql.append(" AND t.task_status = ?");
+            args.add(status.name());
+        }
+        if (assignedEmployee != null) {
+            sql.append(" AND u.user_name = ?");
+            args.add(assignedEmployee);
+        }
+        sql.append(" ORDER BY t.id");
+
+        long rows = export(sql.toString(), args.toArray(), format, out);
+        log.info("Task export -> Format: {}, Rows: {}", format, rows);
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProjects(ExportFormat format, OutputStream out) throws IOException {
+        long rows = export(PROJECT_EXPORT_SQL, new Object[0], format, out);
+        log.info("Project export -> Format: {}, Rows: {}", format, rows);
+        return rows;
+    }
+
+    private long export(String sql, Object[] args, ExportFormat format, OutputStream out) throws IOException {
+
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+
+        Long rows;
+        try {
+            rows = jdbcTemplate.query(sql, (ResultSetExtractor<Long>) rs -> {
+                long count = 0;
+                try {
+                    writer.header(rs.getMetaData());
+                    while (rs.next()) {
+                        writer.row(rs);
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);  // client went away, abort the cursor
+                }
+                return count;
+            }, args);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.finish();
+        return rows == null ? 0 : rows;
+    }
+
+    private static String text(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().toString();
+        }
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime().toString();
+        }
+        return value.toString();
+    }
+
+    private interface RowWriter {
+        void header(ResultSetMetaData metaData) throws SQLException, IOException;
+        void row(ResultSet rs) throws SQLException, IOException;
+        void finish() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private String[] columns;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void header(ResultSetMetaData metaData) throws SQLException {
+            columns = labels(metaData);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = rs.getObject(i + 1);
+                if (value == null) {
+                    generator.writeNullField(columns[i]);
+                } else if (value instanceof Long || value instanceof Integer) {
+                    generator.writeNumberField(columns[i], ((Number) value).longValue());
+                } else {
+                    generator.writeStringField(columns[i], text(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private int columnCount;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void header(ResultSetMetaData metaData) throws SQLException, IOException {
+            String[] columns = labels(metaData);
+            columnCount = columns.length;
+            writeLine(columns);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            String[] values = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                Object value = rs.getObject(i + 1);
+                values[i] = value == null ? "" : text(value);
+            }
+            writeLine(values);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static String[] labels(ResultSetMetaData metaData) throws SQLException {
+        String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        return labels;
+    }
+
+}
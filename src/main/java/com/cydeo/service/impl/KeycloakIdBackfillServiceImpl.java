@@ -0,0 +1,68 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.entity.User;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.KeycloakIdBackfillService;
+import com.cydeo.service.KeycloakService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Resolves keycloak_id for users created before it was stored. Keycloak is called outside any transaction,
+// each page of ids is then written in one short transaction.
+@Service
+@Slf4j
+public class KeycloakIdBackfillServiceImpl implements KeycloakIdBackfillService {
+
+    private final UserRepository userRepository;
+    private final KeycloakService keycloakService;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+
+    public KeycloakIdBackfillServiceImpl(UserRepository userRepository, KeycloakService keycloakService, PlatformTransactionManager transactionManager,
+                                         @Value("${ticketing.keycloak-backfill.page-size}") int pageSize) {
+        this.userRepository = userRepository;
+        this.keycloakService = keycloakService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    @Scheduled(cron = "${ticketing.keycloak-backfill.cron}")
+    public int backfill() {
+
+        long lastId = 0;
+        int scanned = 0;
+        int resolved = 0;
+        List<User> users;
+        do {
+            users = userRepository.findAllByKeycloakIdIsNullAndIsDeletedAndIdGreaterThanOrderById(false, lastId, PageRequest.of(0, pageSize));
+
+            Map<String, String> keycloakIds = new LinkedHashMap<>();
+            for (User user : users) {
+                keycloakService.findIdByUserName(user.getUserName())
+                        .ifPresentOrElse(id -> keycloakIds.put(user.getUserName(), id),
+                                () -> log.warn("Keycloak id backfill -> User: {} has no Keycloak account", user.getUserName()));
+            }
+            transactionTemplate.executeWithoutResult(status -> keycloakIds.forEach(userRepository::updateKeycloakId));
+
+            scanned += users.size();
+            resolved += keycloakIds.size();
+            if (!users.isEmpty()) {
+                lastId = users.get(users.size() - 1).getId();   // unresolved users stay behind the cursor until the next run
+            }
+        } while (users.size() == pageSize);
+
+        log.info("Keycloak id backfill -> Scanned: {}, Resolved: {}", scanned, resolved);
+        return resolved;
+    }
+
+}
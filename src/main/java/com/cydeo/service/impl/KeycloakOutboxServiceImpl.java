@@ -0,0 +1,252 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.KeycloakOutboxEvent;
+import com.cydeo.enums.OutboxEventType;
+import com.cydeo.enums.OutboxStatus;
+import com.cydeo.repository.KeycloakOutboxRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.KeycloakOutboxService;
+import com.cydeo.service.KeycloakService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.ws.rs.NotFoundException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Events are claimed in a short transaction (IN_PROGRESS, leased until next_attempt_at), applied to Keycloak with no
+// transaction or row lock held, and each outcome is recorded in a transaction of its own. An event whose lease runs
+// out is claimed again, so a change may reach Keycloak more than once.
+@Service
+@Slf4j
+public class KeycloakOutboxServiceImpl implements KeycloakOutboxService {
+
+    private static final Set<OutboxStatus> OPEN = EnumSet.of(OutboxStatus.PENDING, OutboxStatus.IN_PROGRESS);
+    private static final Set<OutboxStatus> FINISHED = EnumSet.of(OutboxStatus.DONE, OutboxStatus.DEAD);
+
+    private final KeycloakOutboxRepository keycloakOutboxRepository;
+    private final KeycloakService keycloakService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long leaseMs;
+    private final int retentionDays;
+
+    private final Counter succeeded;
+    private final Counter retried;
+    private final Counter dead;
+
+    public KeycloakOutboxServiceImpl(KeycloakOutboxRepository keycloakOutboxRepository, KeycloakService keycloakService,
+                                     UserRepository userRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                     @Value("${ticketing.keycloak-outbox.batch-size}") int batchSize,
+                                     @Value("${ticketing.keycloak-outbox.max-attempts}") int maxAttempts,
+                                     @Value("${ticketing.keycloak-outbox.backoff-base-ms}") long backoffBaseMs,
+                                     @Value("${ticketing.keycloak-outbox.backoff-max-ms}") long backoffMaxMs,
+                                     @Value("${ticketing.keycloak-outbox.lease-ms}") long leaseMs,
+                                     @Value("${ticketing.keycloak-outbox.retention-days}") int retentionDays) {
+        this.keycloakOutboxRepository = keycloakOutboxRepository;
+        this.keycloakService = keycloakService;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.leaseMs = leaseMs;
+        this.retentionDays = retentionDays;
+
+        this.succeeded = meterRegistry.counter("keycloak.outbox.processed", "result", "success");
+        this.retried = meterRegistry.counter("keycloak.outbox.processed", "result", "retry");
+        this.dead = meterRegistry.counter("keycloak.outbox.processed", "result", "dead");
+        Gauge.builder("keycloak.outbox.depth", keycloakOutboxRepository, repository -> repository.countByStatusIn(OPEN))
+                .description("Keycloak changes waiting to be applied")
+                .register(meterRegistry);
+        Gauge.builder("keycloak.outbox.dead", keycloakOutboxRepository, repository -> repository.countByStatus(OutboxStatus.DEAD))
+                .description("Keycloak changes that ran out of attempts")
+                .register(meterRegistry);
+        Gauge.builder("keycloak.outbox.lag", keycloakOutboxRepository, this::lagSeconds)
+                .description("Age of the oldest pending Keycloak change")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)    // must commit or roll back together with the users row
+    public void enqueueCreate(UserDTO user) {
+        KeycloakOutboxEvent event = new KeycloakOutboxEvent(OutboxEventType.USER_CREATE, user.getUserName());
+        event.setFirstName(user.getFirstName());
+        event.setLastName(user.getLastName());
+        event.setPassWord(user.getPassWord());
+        event.setRoleDescription(user.getRole() == null ? null : user.getRole().getDescription());
+        keycloakOutboxRepository.save(event);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUpdate(UserDTO user, String keycloakId) {
+        KeycloakOutboxEvent event = new KeycloakOutboxEvent(OutboxEventType.USER_UPDATE, user.getUserName());
+        event.setKeycloakId(keycloakId);
+        event.setFirstName(user.getFirstName());
+        event.setLastName(user.getLastName());
+        keycloakOutboxRepository.save(event);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(String userName, String keycloakId) {
+        KeycloakOutboxEvent event = new KeycloakOutboxEvent(OutboxEventType.USER_DELETE, userName);
+        event.setKeycloakId(keycloakId);
+        keycloakOutboxRepository.save(event);
+    }
+
+    @Override
+    public int processBatch() {
+        List<KeycloakOutboxEvent> events = transactionTemplate.execute(status -> claim());
+        if (events == null) {
+            return 0;
+        }
+        events.forEach(this::apply);
+        return events.size();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ticketing.keycloak-outbox.poll-interval-ms}", initialDelayString = "${ticketing.keycloak-outbox.poll-interval-ms}")
+    public void drain() {
+        int processed;
+        do {
+            processed = processBatch();
+        } while (processed == batchSize);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${ticketing.keycloak-outbox.purge-cron}")
+    public int purge() {
+        int purged = keycloakOutboxRepository.deleteProcessedBefore(FINISHED, LocalDateTime.now().minusDays(retentionDays));
+        log.info("Keycloak outbox -> Purged: {}", purged);
+        return purged;
+    }
+
+    // the lease covers the whole batch, as its events are applied one after the other
+    private List<KeycloakOutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<KeycloakOutboxEvent> events = keycloakOutboxRepository.findDueForUpdate(OPEN, now, PageRequest.of(0, batchSize));
+        events.forEach(event -> {
+            event.setStatus(OutboxStatus.IN_PROGRESS);
+            event.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+        });
+        return keycloakOutboxRepository.saveAll(events);
+    }
+
+    private void apply(KeycloakOutboxEvent event) {
+        RuntimeException failure = null;
+        try {
+            switch (event.getEventType()) {
+                case USER_CREATE:
+                    event.setKeycloakId(keycloakService.userCreate(toUserDTO(event)));
+                    break;
+                case USER_UPDATE:
+                    keycloakService.update(keycloakId(event).orElseThrow(() -> new NotFoundException("Keycloak user not found")), toUserDTO(event));
+                    break;
+                case USER_DELETE:
+                    keycloakId(event).ifPresent(keycloakService::delete);     // never provisioned: nothing to delete
+                    break;
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        RuntimeException error = failure;
+        try {
+            transactionTemplate.executeWithoutResult(status -> record(event, error));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Keycloak outbox -> Event: {}, Type: {}, User: {}, lease lost, outcome dropped",
+                    event.getId(), event.getEventType(), event.getUserName());
+        }
+    }
+
+    private void record(KeycloakOutboxEvent event, RuntimeException error) {
+        if (error == null) {
+            if (event.getEventType() == OutboxEventType.USER_CREATE) {
+                userRepository.updateKeycloakId(event.getUserName(), event.getKeycloakId());
+            }
+            event.setStatus(OutboxStatus.DONE);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setPassWord(null);
+            event.setLastError(null);
+            keycloakOutboxRepository.save(event);
+            succeeded.increment();
+            return;
+        }
+
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(OutboxStatus.DEAD);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setPassWord(null);     // a dead create is replayed by hand, with a new password
+            keycloakOutboxRepository.save(event);
+            dead.increment();
+            log.error("Keycloak outbox -> Event: {}, Type: {}, User: {}, dead after {} attempts: {}",
+                    event.getId(), event.getEventType(), event.getUserName(), event.getAttempts(), event.getLastError());
+        } else {
+            event.setStatus(OutboxStatus.PENDING);
+            event.setNextAttemptAt(LocalDateTime.now().plus(backoff(event.getAttempts())));
+            keycloakOutboxRepository.save(event);
+            retried.increment();
+            log.warn("Keycloak outbox -> Event: {}, Type: {}, User: {}, Attempt: {}, Error: {}",
+                    event.getId(), event.getEventType(), event.getUserName(), event.getAttempts(), event.getLastError());
+        }
+    }
+
+    // rows written before the user's id was known fall back to one exact search
+    private Optional<String> keycloakId(KeycloakOutboxEvent event) {
+        return event.getKeycloakId() != null ? Optional.of(event.getKeycloakId()) : keycloakService.findIdByUserName(event.getUserName());
+    }
+
+    // base, 2 x base, 4 x base ... capped at backoff-max-ms
+    private Duration backoff(int attempts) {
+        long delay = backoffBaseMs << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(delay < 0 ? backoffMaxMs : Math.min(delay, backoffMaxMs));
+    }
+
+    private double lagSeconds(KeycloakOutboxRepository repository) {
+        LocalDateTime oldest = repository.findOldestCreatedAt(OPEN);
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    private UserDTO toUserDTO(KeycloakOutboxEvent event) {
+        UserDTO user = new UserDTO();
+        user.setUserName(event.getUserName());
+        user.setFirstName(event.getFirstName());
+        user.setLastName(event.getLastName());
+        user.setPassWord(event.getPassWord());
+        user.setRole(new RoleDTO(null, event.getRoleDescription()));
+        return user;
+    }
+
+    private String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+}
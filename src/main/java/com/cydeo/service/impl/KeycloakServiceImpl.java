@@ -2,28 +2,42 @@ package com.cydeo.service.impl;
 import com.cydeo.config.KeycloakProperties;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.service.KeycloakService;
+import lombok.extern.slf4j.Slf4j;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.UserResource;
 import org.keycloak.admin.client.resource.UsersResource;
 import org.keycloak.representations.idm.ClientRepresentation;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.stereotype.Service;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import static java.util.Arrays.asList;
 import static org.keycloak.admin.client.CreatedResponseUtil.getCreatedId;
 
 @Service
+@Slf4j
 public class  KeycloakServiceImpl implements KeycloakService {
     private final KeycloakProperties keycloakProperties;// using variables
+    private final Keycloak keycloak;    // singleton admin client, see KeycloakAdminConfig
 
-    public KeycloakServiceImpl(KeycloakProperties keycloakProperties) {
+    // client UUID and client roles rarely change: looked up once, dropped and re-read when Keycloak answers 404
+    private volatile String clientUuid;
+    private final Map<String, RoleRepresentation> clientRoles = new ConcurrentHashMap<>();
+
+    public KeycloakServiceImpl(KeycloakProperties keycloakProperties, Keycloak keycloak) {
         this.keycloakProperties = keycloakProperties;
+        this.keycloak = keycloak;
     }
     @Override
-    public Response userCreate(UserDTO userDTO) {
+    public String userCreate(UserDTO userDTO) {
 
         CredentialRepresentation credential = new CredentialRepresentation();
         credential.setType(CredentialRepresentation.PASSWORD);
@@ -40,43 +54,93 @@ public class  KeycloakServiceImpl implements KeycloakService {
         keycloakUser.setEmailVerified(true);
         keycloakUser.setEnabled(true);
 
-        // any action in keycloak need to open instance first in keycloak first-> same>concept as DB
-        Keycloak keycloak = getKeycloakInstance();
-
         RealmResource realmResource = keycloak.realm(keycloakProperties.getRealm());//realm Cydeo-dev field
         UsersResource usersResource = realmResource.users();
 
-        // This create() method is creating  Keycloak user
-        Response result = usersResource.create(keycloakUser);
+        // This create() method is creating  Keycloak user. The response holds a pooled connection until it is
+        // closed, so it is closed on every path, a failed create included, before any further call is made.
+        String userId;
+        boolean exists;
+        try (Response result = usersResource.create(keycloakUser)) {
+            exists = result.getStatus() == Response.Status.CONFLICT.getStatusCode();
+            userId = exists ? null : getCreatedId(result);// when we create user in keycloak, user is creating id for the user
+        }
+        if (exists) {
+            // replayed from the outbox after a partial failure: the user exists, finish the role assignment
+            userId = findIdByUserName(userDTO.getUserName()).orElseThrow(() -> new NotFoundException("User not found: " + userDTO.getUserName()));
+        }
+        String roleName = userDTO.getRole().getDescription();
 
-        String userId = getCreatedId(result);// when we create user in keycloak, user is creating id for the user
-        ClientRepresentation appClient = realmResource.clients()
-                .findByClientId(keycloakProperties.getClientId()).get(0);
+        try {
+            assignClientRole(realmResource, userId, roleName);
+        } catch (NotFoundException e) {
+            log.warn("Keycloak metadata is stale -> Client: {}, Role: {}", keycloakProperties.getClientId(), roleName);
+            clearMetadata();
+            assignClientRole(realmResource, userId, roleName);
+        }
 
-        RoleRepresentation userClientRole = realmResource.clients().get(appClient.getId()) //user has a role, and is going to keycloak and is checking roles one by one
-                .roles().get(userDTO.getRole().getDescription()).toRepresentation();//finding role and assigning to user
+        return userId;
+    }
 
-        realmResource.users().get(userId).roles().clientLevel(appClient.getId())
-                .add(List.of(userClientRole));
+    @Override
+    public void update(String keycloakId, UserDTO userDTO) {
 
-        keycloak.close();
-        return result;
+        UserResource userResource = keycloak.realm(keycloakProperties.getRealm()).users().get(keycloakId);
+
+        UserRepresentation keycloakUser = userResource.toRepresentation();
+        keycloakUser.setFirstName(userDTO.getFirstName());
+        keycloakUser.setLastName(userDTO.getLastName());
+        userResource.update(keycloakUser);
     }
+
     @Override
-    public void delete(String userName) { //delete()  based on Unique Id
+    public void delete(String keycloakId) { //delete()  based on Unique Id, no realm-wide search
 
-        Keycloak keycloak = getKeycloakInstance();
-        RealmResource realmResource = keycloak.realm(keycloakProperties.getRealm());
-        UsersResource usersResource = realmResource.users();
+        int status;
+        try (Response result = keycloak.realm(keycloakProperties.getRealm()).users().delete(keycloakId)) {
+            status = result.getStatus();
+        }
+        if (status == Response.Status.NOT_FOUND.getStatusCode()) {
+            log.warn("Keycloak user already gone -> Id: {}", keycloakId);
+        } else if (Response.Status.Family.familyOf(status) != Response.Status.Family.SUCCESSFUL) {
+            throw new WebApplicationException("Delete method returned status " + status, status);
+        }
+    }
+
+    @Override
+    public Optional<String> findIdByUserName(String userName) {
+
+        // exact=true: the default search is a fuzzy match over username, email, first and last name
+        return keycloak.realm(keycloakProperties.getRealm()).users().search(userName, true).stream()
+                .filter(user -> userName.equalsIgnoreCase(user.getUsername()))
+                .map(UserRepresentation::getId)
+                .findFirst();
+    }
 
-        List<UserRepresentation> userRepresentations = usersResource.search(userName);
-        String uid = userRepresentations.get(0).getId();
-        usersResource.delete(uid);
-        keycloak.close();
+    private void clearMetadata() {
+        clientUuid = null;
+        clientRoles.clear();
     }
-    private Keycloak getKeycloakInstance(){// this is ready method from documentation
-        return Keycloak.getInstance(keycloakProperties.getAuthServerUrl(), // these instances are coming from keycloak
-                keycloakProperties.getMasterRealm(), keycloakProperties.getMasterUser()
-                , keycloakProperties.getMasterUserPswd(), keycloakProperties.getMasterClient());
+
+    private void assignClientRole(RealmResource realmResource, String userId, String roleName) {
+        String appClientId = clientUuid(realmResource);
+        RoleRepresentation userClientRole = clientRoles.computeIfAbsent(roleName,
+                name -> realmResource.clients().get(appClientId).roles().get(name).toRepresentation());
+
+        realmResource.users().get(userId).roles().clientLevel(appClientId)
+                .add(List.of(userClientRole));
+    }
+
+    private String clientUuid(RealmResource realmResource) {
+        String uuid = clientUuid;
+        if (uuid == null) {
+            List<ClientRepresentation> clients = realmResource.clients().findByClientId(keycloakProperties.getClientId());
+            if (clients.isEmpty()) {
+                throw new NotFoundException("Client not found: " + keycloakProperties.getClientId());
+            }
+            uuid = clients.get(0).getId();
+            clientUuid = uuid;
+        }
+        return uuid;
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,24 @@
 package com.cydeo.service.impl;
 
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.ProjectDTO;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.entity.Project;
-import com.cydeo.entity.User;
 import com.cydeo.enums.Status;
 import com.cydeo.mapper.ProjectMapper;
 import com.cydeo.mapper.UserMapper;
 import com.cydeo.repository.ProjectRepository;
+import com.cydeo.service.CurrentUserService;
 import com.cydeo.service.ProjectService;
+import com.cydeo.service.ProjectTaskStatsService;
 import com.cydeo.service.TaskService;
-import com.cydeo.service.UserService;
-import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
+import com.cydeo.util.CursorCodec;
+import com.cydeo.util.ResourceVersion;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -25,16 +28,21 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
     private final UserMapper userMapper;
     private final TaskService taskService;
+    private final ProjectTaskStatsService projectTaskStatsService;
+    private final PaginationProperties paginationProperties;
 
-    public ProjectServiceImpl(ProjectRepository projectRepository, ProjectMapper projectMapper, UserService userService, UserMapper userMapper, TaskService taskService) {
+    public ProjectServiceImpl(ProjectRepository projectRepository, ProjectMapper projectMapper, CurrentUserService currentUserService, UserMapper userMapper, TaskService taskService,
+                              ProjectTaskStatsService projectTaskStatsService, PaginationProperties paginationProperties) {
         this.projectRepository = projectRepository;
         this.projectMapper = projectMapper;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
         this.userMapper = userMapper;
         this.taskService = taskService;
+        this.projectTaskStatsService = projectTaskStatsService;
+        this.paginationProperties = paginationProperties;
     }
 
     @Override
@@ -44,6 +52,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> listAllProjects() {
 
         List<Project> list = projectRepository.findAll(Sort.by("projectCode"));
@@ -52,11 +61,50 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageDTO<ProjectDTO> listProjectsPage(String cursor, Integer size) {
+
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);    // one extra row tells us whether there is a next page
+
+        List<Project> list = cursor == null
+                ? projectRepository.findAllByOrderByProjectCode(limit)
+                : projectRepository.findAllByProjectCodeGreaterThanOrderByProjectCode(afterProjectCode(cursor), limit);
+
+        String nextCursor = null;
+        if (list.size() > pageSize) {
+            list = list.subList(0, pageSize);
+            nextCursor = CursorCodec.encode(list.get(pageSize - 1).getProjectCode());
+        }
+
+        return new PageDTO<>(list.stream().map(projectMapper::convertToDto).collect(Collectors.toList()), nextCursor);
+    }
+
+    @Override
+    public ResourceVersion getVersionByProjectCode(String code) {
+        return ResourceVersion.of(projectRepository.findVersionByProjectCode(code));
+    }
+
+    @Override
+    public ResourceVersion getProjectsPageVersion(String cursor, Integer size) {
+
+        // same rows as listProjectsPage, including the look-ahead one that decides nextCursor
+        PageRequest limit = PageRequest.of(0, paginationProperties.resolvePageSize(size) + 1);
+
+        return ResourceVersion.ofCollection(cursor == null
+                ? projectRepository.findVersionsOrderByProjectCode(limit)
+                : projectRepository.findVersionsByProjectCodeGreaterThanOrderByProjectCode(afterProjectCode(cursor), limit));
+    }
+
+    @Override
+    @Transactional
     public void save(ProjectDTO dto) {
 
         dto.setProjectStatus(Status.OPEN);
         Project project = projectMapper.convertToEntity(dto);
         projectRepository.save(project);
+
+        projectTaskStatsService.projectCreated(project.getId());
     }
 
     @Override
@@ -76,6 +124,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public void delete(String code) {
         Project project = projectRepository.findByProjectCode(code);
         project.setIsDeleted(true);
@@ -89,6 +138,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public void complete(String code) {
         Project project = projectRepository.findByProjectCode(code);
         project.setProjectStatus(Status.COMPLETE);
@@ -98,36 +148,26 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> listAllProjectDetails() {
-        Authentication  authentication = SecurityContextHolder.getContext().getAuthentication();
-        SimpleKeycloakAccount details = (SimpleKeycloakAccount) authentication.getDetails();
-        String username = details.getKeycloakSecurityContext().getToken().getPreferredUsername();
-
-        UserDTO currentUserDTO = userService.findByUserName(username);
-
-        User user = userMapper.convertToEntity(currentUserDTO);
-
-        List<Project> list = projectRepository.findAllByAssignedManager(user);
+        UserDTO currentUserDTO = currentUserService.getUser();
 
+        List<ProjectDTO> list = projectRepository.findProjectDetailsByAssignedManager(currentUserDTO.getId());
+        list.forEach(projectDTO -> projectDTO.setAssignedManager(currentUserDTO));
 
-        return list.stream().map(project -> {
-
-            ProjectDTO obj = projectMapper.convertToDto(project);
-
-            obj.setUnfinishedTaskCounts(taskService.totalNonCompletedTask(project.getProjectCode()));
-            obj.setCompleteTaskCounts(taskService.totalCompletedTask(project.getProjectCode()));
-
-            return obj;
-            }
-
-        ).collect(Collectors.toList());
+        return list;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> listAllNonCompletedByAssignedManager(UserDTO assignedManager) {
         List<Project> projects = projectRepository
                 .findAllByProjectStatusIsNotAndAssignedManager(Status.COMPLETE, userMapper.convertToEntity(assignedManager));
         return projects.stream().map(projectMapper::convertToDto).collect(Collectors.toList());
     }
 
+    private String afterProjectCode(String cursor) {
+        return CursorCodec.decode(cursor, 1)[0];
+    }
+
 }
@@ -0,0 +1,234 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.TaskStatusCountDTO;
+import com.cydeo.entity.ProjectTaskStats;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ArchivedTaskRepository;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.ProjectTaskStatsRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.ProjectTaskStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ProjectTaskStatsServiceImpl implements ProjectTaskStatsService {
+
+    private final ProjectTaskStatsRepository projectTaskStatsRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    public ProjectTaskStatsServiceImpl(ProjectTaskStatsRepository projectTaskStatsRepository, ProjectRepository projectRepository, TaskRepository taskRepository,
+                                       ArchivedTaskRepository archivedTaskRepository) {
+        this.projectTaskStatsRepository = projectTaskStatsRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+    }
+
+    @Override
+    @Transactional
+    public void projectCreated(Long projectId) {
+        if (!projectTaskStatsRepository.existsById(projectId)) {
+            projectTaskStatsRepository.save(new ProjectTaskStats(projectId, 0, 0, 0));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void projectCompleted(Long projectId) {
+        projectTaskStatsRepository.completeAll(projectId);
+    }
+
+    @Override
+    @Transactional
+    public void projectDeleted(Long projectId) {
+        if (projectTaskStatsRepository.existsById(projectId)) {
+            projectTaskStatsRepository.deleteById(projectId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void taskCreated(Long projectId, Status status) {
+        apply(projectId, status, 1);
+    }
+
+    @Override
+    @Transactional
+    public void taskChanged(Long oldProjectId, Status oldStatus, Long newProjectId, Status newStatus) {
+        if (Objects.equals(oldProjectId, newProjectId) && oldStatus == newStatus) {
+            return;
+        }
+        apply(oldProjectId, oldStatus, -1);
+        apply(newProjectId, newStatus, 1);
+    }
+
+    @Override
+    @Transactional
+    public void taskDeleted(Long projectId, Status status) {
+        apply(projectId, status, -1);
+    }
+
+    // one counter update per project instead of one per task, used by the batch task endpoints
+    @Override
+    @Transactional
+    public void applyDeltas(List<TaskStatusCountDTO> deltas) {
+
+        Map<Long, ProjectTaskStats> changes = new LinkedHashMap<>();
+        for (TaskStatusCountDTO delta : deltas) {
+            if (delta.getProjectId() != null && delta.getTaskStatus() != null) {
+                add(changes.computeIfAbsent(delta.getProjectId(), id -> new ProjectTaskStats(id, 0, 0, 0)),
+                        delta.getTaskStatus(), delta.getTotal());
+            }
+        }
+
+        changes.values().forEach(this::apply);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int totalNonCompletedTask(String projectCode) {
+        return projectTaskStatsRepository.findNonCompletedCountByProjectCode(projectCode)
+                .map(Long::intValue)
+                .orElse(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int totalCompletedTask(String projectCode) {
+        return projectTaskStatsRepository.findCompletedCountByProjectCode(projectCode)
+                .map(Long::intValue)
+                .orElse(0);
+    }
+
+    // Rebuilds every counter from the tasks table, plus the archived tasks of live projects, and reports the rows
+    // that had drifted. The bulk counts only pick the suspects: each one is locked and recounted before it is
+    // overwritten, as a task write committed between the bulk read and the write would otherwise be lost.
+    @Override
+    @Scheduled(cron = "${ticketing.task-stats.reconcile-cron}")
+    @Transactional
+    public int reconcile() {
+
+        Map<Long, ProjectTaskStats> actual = new HashMap<>();
+        projectRepository.findAllIds().forEach(id -> actual.put(id, new ProjectTaskStats(id, 0, 0, 0)));
+
+        List<TaskStatusCountDTO> counts = new ArrayList<>(taskRepository.countAllByProjectAndStatus());
+        counts.addAll(archivedTaskRepository.countAllByProjectAndStatus());
+        for (TaskStatusCountDTO count : counts) {
+            ProjectTaskStats stats = actual.get(count.getProjectId());
+            if (stats != null) {
+                add(stats, count.getTaskStatus(), count.getTotal());
+            }
+        }
+
+        Map<Long, ProjectTaskStats> stored = projectTaskStatsRepository.findAll().stream()
+                .collect(Collectors.toMap(ProjectTaskStats::getProjectId, Function.identity()));
+
+        int drift = 0;
+        for (ProjectTaskStats expected : actual.values()) {
+            ProjectTaskStats current = stored.remove(expected.getProjectId());
+            if ((current == null || !sameCounts(current, expected)) && repair(expected.getProjectId(), current)) {
+                drift++;
+            }
+        }
+
+        for (ProjectTaskStats orphan : stored.values()) {    // rows of projects that no longer exist
+            log.warn("Task stats drift -> Project: {}, Stored: {}, Actual: none", orphan.getProjectId(), describe(orphan));
+            projectTaskStatsRepository.delete(orphan);
+            drift++;
+        }
+
+        log.info("Task stats reconciled -> Projects: {}, Drifted: {}", actual.size(), drift);
+        return drift;
+    }
+
+    private boolean repair(Long projectId, ProjectTaskStats current) {
+
+        boolean exists = projectTaskStatsRepository.lockById(projectId).isPresent();
+
+        ProjectTaskStats expected = new ProjectTaskStats(projectId, 0, 0, 0);
+        List<TaskStatusCountDTO> counts = new ArrayList<>(taskRepository.countByProjectAndStatus(projectId));
+        counts.addAll(archivedTaskRepository.countByProjectAndStatus(projectId));
+        counts.forEach(count -> add(expected, count.getTaskStatus(), count.getTotal()));
+
+        if (exists) {
+            int updated = projectTaskStatsRepository.overwrite(projectId,
+                    expected.getOpenCount(), expected.getInProgressCount(), expected.getCompleteCount());
+            if (updated == 0) {    // the suspect was a task write landing between the bulk reads
+                return false;
+            }
+        } else {
+            projectTaskStatsRepository.save(expected);
+        }
+
+        log.warn("Task stats drift -> Project: {}, Stored: {}, Actual: {}", projectId, describe(current), describe(expected));
+        return true;
+    }
+
+    private void apply(Long projectId, Status status, long delta) {
+
+        if (projectId == null || status == null) {
+            return;
+        }
+
+        ProjectTaskStats change = new ProjectTaskStats(projectId, 0, 0, 0);
+        add(change, status, delta);
+        apply(change);
+    }
+
+    private void apply(ProjectTaskStats change) {
+
+        int updated = projectTaskStatsRepository.increment(change.getProjectId(),
+                change.getOpenCount(), change.getInProgressCount(), change.getCompleteCount());
+
+        if (updated == 0) {    // project created before the read model existed, reconcile fills the rest
+            change.setOpenCount(Math.max(0, change.getOpenCount()));
+            change.setInProgressCount(Math.max(0, change.getInProgressCount()));
+            change.setCompleteCount(Math.max(0, change.getCompleteCount()));
+            projectTaskStatsRepository.save(change);
+        }
+    }
+
+    private void add(ProjectTaskStats stats, Status status, long delta) {
+        switch (status) {
+            case OPEN:
+                stats.setOpenCount(stats.getOpenCount() + delta);
+                break;
+            case IN_PROGRESS:
+                stats.setInProgressCount(stats.getInProgressCount() + delta);
+                break;
+            case COMPLETE:
+                stats.setCompleteCount(stats.getCompleteCount() + delta);
+                break;
+        }
+    }
+
+    private boolean sameCounts(ProjectTaskStats stats, ProjectTaskStats other) {
+        return stats.getOpenCount() == other.getOpenCount()
+                && stats.getInProgressCount() == other.getInProgressCount()
+                && stats.getCompleteCount() == other.getCompleteCount();
+    }
+
+    private String describe(ProjectTaskStats stats) {
+        if (stats == null) {
+            return "none";
+        }
+        return String.format("open=%d, inProgress=%d, complete=%d",
+                stats.getOpenCount(), stats.getInProgressCount(), stats.getCompleteCount());
+    }
+
+}
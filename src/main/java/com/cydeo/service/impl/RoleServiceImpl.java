@@ -1,43 +1,74 @@
 package com.cydeo.service.impl;
 
 import com.cydeo.dto.RoleDTO;
-import com.cydeo.entity.Role;
-import com.cydeo.mapper.MapperUtil;
-import com.cydeo.mapper.RoleMapper;
 import com.cydeo.repository.RoleRepository;
 import com.cydeo.service.RoleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+// Roles are fixed reference data (Admin, Manager, Employee), so they are read once into an immutable, id-indexed
+// catalogue and every lookup is served from memory. RoleMapper resolves user roles through it, which is what lets
+// User.role stay lazy. RoleChangeListener swaps in a fresh catalogue after a change to the roles table commits.
+// RoleDTO is mutable (it is bound from request bodies too), so callers get copies and can never alter the catalogue.
 @Service
+@Slf4j
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
-    private final RoleMapper roleMapper;
-    private final MapperUtil mapperUtil;
+    private volatile Catalogue catalogue;
 
-    public RoleServiceImpl(RoleRepository roleRepository, RoleMapper roleMapper, MapperUtil mapperUtil) {
+    public RoleServiceImpl(RoleRepository roleRepository) {
         this.roleRepository = roleRepository;
-        this.roleMapper = roleMapper;
-        this.mapperUtil = mapperUtil;
     }
 
     @Override
     public List<RoleDTO> listAllRoles() {
-        List<Role> roleList = roleRepository.findAll();
-//        return roleList.stream().map(roleMapper::convertToDto).collect(Collectors.toList());
-        return roleList.stream().map(role -> mapperUtil.convert(role, new RoleDTO())).collect(Collectors.toList());
-//        return roleList.stream().map(role -> mapperUtil.convert(role, RoleDTO.class)).collect(Collectors.toList());
+        return catalogue().roles.stream().map(RoleServiceImpl::copy).collect(Collectors.toUnmodifiableList());
     }
 
     @Override
     public RoleDTO findById(Long id) {
+        return id == null ? null : copy(catalogue().byId.get(id));
+    }
 
+    @Override
+    @EventListener(ContextRefreshedEvent.class)
+    public void refresh() {
+        List<RoleDTO> roles = roleRepository.findAllRoles();
+        catalogue = new Catalogue(roles);
+        log.info("Role catalogue -> Roles: {}", roles.size());
+    }
 
+    private static RoleDTO copy(RoleDTO role) {
+        return role == null ? null : new RoleDTO(role.getId(), role.getDescription());
+    }
 
+    private Catalogue catalogue() {
+        Catalogue current = catalogue;
+        if (current == null) {      // only before the context is refreshed, concurrent callers load the same rows
+            refresh();
+            current = catalogue;
+        }
+        return current;
+    }
+
+    private static final class Catalogue {
+
+        private final List<RoleDTO> roles;
+        private final Map<Long, RoleDTO> byId;
+
+        private Catalogue(List<RoleDTO> roles) {
+            this.roles = roles.stream().map(RoleServiceImpl::copy).collect(Collectors.toUnmodifiableList());
+            this.byId = this.roles.stream().collect(Collectors.toUnmodifiableMap(RoleDTO::getId, Function.identity()));
+        }
 
-        return roleMapper.convertToDto(roleRepository.findById(id).get());
     }
+
 }
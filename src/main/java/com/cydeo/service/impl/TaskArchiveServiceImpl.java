@@ -0,0 +1,152 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.ArchivedTaskDTO;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.entity.ArchivedTask;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ArchivedTaskMapper;
+import com.cydeo.repository.ArchivedProjectRepository;
+import com.cydeo.repository.ArchivedTaskRepository;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.TaskArchiveService;
+import com.cydeo.util.CursorCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Moves soft-deleted tasks, tasks complete for longer than complete-after-days and soft-deleted projects into the
+// *_archive tables. Each batch is copied and deleted in its own short transaction, so locks and undo stay bounded
+// and the live tables are never blocked for the length of the whole run.
+@Service
+@Slf4j
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ArchivedProjectRepository archivedProjectRepository;
+    private final ArchivedTaskMapper archivedTaskMapper;
+    private final CurrentUserService currentUserService;
+    private final PaginationProperties paginationProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int completeAfterDays;
+
+    public TaskArchiveServiceImpl(TaskRepository taskRepository, ProjectRepository projectRepository, ArchivedTaskRepository archivedTaskRepository,
+                                  ArchivedProjectRepository archivedProjectRepository, ArchivedTaskMapper archivedTaskMapper,
+                                  CurrentUserService currentUserService, PaginationProperties paginationProperties, PlatformTransactionManager transactionManager,
+                                  @Value("${ticketing.archive.batch-size}") int batchSize,
+                                  @Value("${ticketing.archive.complete-after-days}") int completeAfterDays) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.archivedProjectRepository = archivedProjectRepository;
+        this.archivedTaskMapper = archivedTaskMapper;
+        this.currentUserService = currentUserService;
+        this.paginationProperties = paginationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.completeAfterDays = completeAfterDays;
+    }
+
+    @Override
+    @Scheduled(cron = "${ticketing.archive.cron}")
+    public int archive() {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(completeAfterDays);
+
+        int deletedTasks = drain(() -> moveTasks(taskRepository.findDeletedIdsForUpdate(batchSize), now));
+        int completedTasks = drain(() -> moveTasks(taskRepository.findCompletedBeforeIdsForUpdate(cutoff, batchSize), now));
+        int projects = drain(() -> moveProjects(projectRepository.findArchivableIdsForUpdate(batchSize), now));     // after their tasks
+
+        log.info("Task archive -> Deleted tasks: {}, Completed tasks: {}, Projects: {}", deletedTasks, completedTasks, projects);
+        return deletedTasks + completedTasks + projects;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<ArchivedTaskDTO> listArchivedTasksPage(String projectCode, String cursor, Integer size) {
+
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);    // one extra row tells us whether there is a next page
+        Long beforeId = beforeId(cursor);
+
+        List<ArchivedTask> list = projectCode == null
+                ? archivedTaskRepository.findAllByIdLessThanOrderByIdDesc(beforeId, limit)
+                : archivedTaskRepository.findAllByProjectCodeAndIdLessThanOrderByIdDesc(projectCode, beforeId, limit);
+
+        return page(list, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<ArchivedTaskDTO> listEmployeeArchivedTasksPage(String cursor, Integer size) {
+
+        int pageSize = paginationProperties.resolvePageSize(size);
+        Long employeeId = currentUserService.getUser().getId();
+
+        List<ArchivedTask> list = archivedTaskRepository.findAllByAssignedEmployeeIdAndTaskStatusAndIsDeletedAndIdLessThanOrderByIdDesc(
+                employeeId, Status.COMPLETE, false, beforeId(cursor), PageRequest.of(0, pageSize + 1));
+
+        return page(list, pageSize);
+    }
+
+    // runs batches until one comes back short
+    private int drain(Supplier<Integer> batch) {
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> batch.get());
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+
+    private int moveTasks(List<Long> ids, LocalDateTime archivedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedTaskRepository.copyFromTasks(ids, archivedAt);
+        taskRepository.deleteAllByIds(ids);
+        return ids.size();
+    }
+
+    private int moveProjects(List<Long> ids, LocalDateTime archivedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedProjectRepository.copyFromProjects(ids, archivedAt);
+        projectRepository.deleteAllByIds(ids);
+        return ids.size();
+    }
+
+    private Long beforeId(String cursor) {
+        return cursor == null ? Long.MAX_VALUE : CursorCodec.decodeLong(CursorCodec.decode(cursor, 1)[0]);
+    }
+
+    private PageDTO<ArchivedTaskDTO> page(List<ArchivedTask> list, int pageSize) {
+
+        String nextCursor = null;
+        if (list.size() > pageSize) {
+            list = list.subList(0, pageSize);
+            nextCursor = CursorCodec.encode(list.get(pageSize - 1).getId());
+        }
+
+        return new PageDTO<>(list.stream().map(archivedTaskMapper::convertToDto).collect(Collectors.toList()), nextCursor);
+    }
+
+}
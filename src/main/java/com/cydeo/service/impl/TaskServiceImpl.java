@@ -1,25 +1,43 @@
 package com.cydeo.service.impl;
 
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.TaskBatchResultDTO;
 import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.TaskStatusCountDTO;
 import com.cydeo.dto.UserDTO;
-import com.cydeo.entity.Project;
+import com.cydeo.entity.BaseEntity;
 import com.cydeo.entity.Task;
 import com.cydeo.enums.Status;
+import com.cydeo.exception.TicketingProjectException;
 import com.cydeo.mapper.ProjectMapper;
 import com.cydeo.mapper.TaskMapper;
 import com.cydeo.mapper.UserMapper;
 import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.ProjectTaskStatsService;
 import com.cydeo.service.TaskService;
-import com.cydeo.service.UserService;
-import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.cydeo.util.CursorCodec;
+import com.cydeo.util.ResourceVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,15 +46,25 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final ProjectMapper projectMapper;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
     private final UserMapper userMapper;
-
-    public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper, ProjectMapper projectMapper, UserService userService, UserMapper userMapper) {
+    private final ProjectTaskStatsService projectTaskStatsService;
+    private final Validator validator;
+    private final int maxBatchSize;
+    private final PaginationProperties paginationProperties;
+
+    public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper, ProjectMapper projectMapper, CurrentUserService currentUserService, UserMapper userMapper,
+                           ProjectTaskStatsService projectTaskStatsService, Validator validator, @Value("${ticketing.task.batch.max-size}") int maxBatchSize,
+                           PaginationProperties paginationProperties) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
         this.projectMapper = projectMapper;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
         this.userMapper = userMapper;
+        this.projectTaskStatsService = projectTaskStatsService;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+        this.paginationProperties = paginationProperties;
     }
 
     @Override
@@ -51,11 +79,49 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> listAllTasks() {
         return taskRepository.findAll().stream().map(taskMapper::convertToDto).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageDTO<TaskDTO> listTasksPage(String cursor, Integer size) {
+
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);    // one extra row tells us whether there is a next page
+
+        List<Task> list = cursor == null
+                ? taskRepository.findAllByOrderById(limit)
+                : taskRepository.findAllByIdGreaterThanOrderById(afterId(cursor), limit);
+
+        String nextCursor = null;
+        if (list.size() > pageSize) {
+            list = list.subList(0, pageSize);
+            nextCursor = CursorCodec.encode(list.get(pageSize - 1).getId());
+        }
+
+        return new PageDTO<>(list.stream().map(taskMapper::convertToDto).collect(Collectors.toList()), nextCursor);
+    }
+
+    @Override
+    public ResourceVersion getVersionById(Long id) {
+        return ResourceVersion.of(taskRepository.findVersionById(id));
+    }
+
+    @Override
+    public ResourceVersion getTasksPageVersion(String cursor, Integer size) {
+
+        // same rows as listTasksPage, including the look-ahead one that decides nextCursor
+        PageRequest limit = PageRequest.of(0, paginationProperties.resolvePageSize(size) + 1);
+
+        return ResourceVersion.ofCollection(cursor == null
+                ? taskRepository.findVersionsOrderById(limit)
+                : taskRepository.findVersionsByIdGreaterThanOrderById(afterId(cursor), limit));
+    }
+
+    @Override
+    @Transactional
     public void save(TaskDTO dto) {
 
         dto.setTaskStatus(Status.OPEN);
@@ -63,23 +129,32 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskMapper.convertToEntity(dto);
         taskRepository.save(task);
 
+        projectTaskStatsService.taskCreated(projectId(task), task.getTaskStatus());
+
     }
 
     @Override
+    @Transactional
     public void update(TaskDTO dto) {
 
         Optional<Task> task = taskRepository.findById(dto.getId());
         Task convertedTask  = taskMapper.convertToEntity(dto);
 
         if(task.isPresent()){
+            Long oldProjectId = projectId(task.get());
+            Status oldStatus = task.get().getTaskStatus();
+
             convertedTask.setTaskStatus(dto.getTaskStatus() == null ? task.get().getTaskStatus() : dto.getTaskStatus());
             convertedTask.setAssignedDate(task.get().getAssignedDate());
             taskRepository.save(convertedTask);
+
+            projectTaskStatsService.taskChanged(oldProjectId, oldStatus, projectId(convertedTask), convertedTask.getTaskStatus());
         }
 
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
 
         Optional<Task> foundTask = taskRepository.findById(id);
@@ -87,45 +162,118 @@ public class TaskServiceImpl implements TaskService {
         if(foundTask.isPresent()){
             foundTask.get().setIsDeleted(true);
             taskRepository.save(foundTask.get());
+
+            projectTaskStatsService.taskDeleted(projectId(foundTask.get()), foundTask.get().getTaskStatus());
         }
 
     }
 
+    @Override
+    @Transactional
+    public List<TaskBatchResultDTO> saveAll(List<TaskDTO> dtos) throws TicketingProjectException {
+
+        List<TaskBatchResultDTO> results = validate(dtos);
+        for (TaskBatchResultDTO result : results) {
+            if (result.isSuccess() && result.getId() != null) {     // ids come from the sequence, a set one would be lost
+                result.setSuccess(false);
+                result.setMessage("Task id must not be set on create");
+            }
+        }
+        if (hasFailures(results)) {
+            return results;     // nothing is persisted unless every task is valid
+        }
+
+        List<Task> tasks = dtos.stream().map(dto -> {
+            dto.setTaskStatus(Status.OPEN);
+            dto.setAssignedDate(LocalDate.now());
+            return taskMapper.convertToEntity(dto);
+        }).collect(Collectors.toList());
+
+        taskRepository.saveAll(tasks);  // inserts are flushed in JDBC batches of hibernate.jdbc.batch_size
+
+        projectTaskStatsService.applyDeltas(tasks.stream()
+                .map(task -> new TaskStatusCountDTO(projectId(task), task.getTaskStatus(), 1L))
+                .collect(Collectors.toList()));
+
+        for (int i = 0; i < tasks.size(); i++) {
+            results.get(i).setId(tasks.get(i).getId());
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<TaskBatchResultDTO> updateAll(List<TaskDTO> dtos) throws TicketingProjectException {
+
+        List<TaskBatchResultDTO> results = validate(dtos);
+
+        List<Long> ids = dtos.stream().filter(Objects::nonNull).map(TaskDTO::getId).filter(Objects::nonNull).collect(Collectors.toList());
+        Map<Long, Task> existingTasks = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Set<Long> seenIds = new HashSet<>();
+        for (TaskBatchResultDTO result : results) {
+            if (result.isSuccess() && !existingTasks.containsKey(result.getId())) {
+                result.setSuccess(false);
+                result.setMessage("Task not found");
+            } else if (result.isSuccess() && !seenIds.add(result.getId())) {   // would apply its status change twice
+                result.setSuccess(false);
+                result.setMessage("Task appears more than once in the batch");
+            }
+        }
+        if (hasFailures(results)) {
+            return results;
+        }
+
+        List<Task> convertedTasks = new ArrayList<>();
+        List<TaskStatusCountDTO> deltas = new ArrayList<>();
+
+        for (TaskDTO dto : dtos) {
+            Task task = existingTasks.get(dto.getId());
+            Task convertedTask = taskMapper.convertToEntity(dto);
+            convertedTask.setTaskStatus(dto.getTaskStatus() == null ? task.getTaskStatus() : dto.getTaskStatus());
+            convertedTask.setAssignedDate(task.getAssignedDate());
+            convertedTasks.add(convertedTask);
+
+            deltas.add(new TaskStatusCountDTO(projectId(task), task.getTaskStatus(), -1L));
+            deltas.add(new TaskStatusCountDTO(projectId(convertedTask), convertedTask.getTaskStatus(), 1L));
+        }
+
+        taskRepository.saveAll(convertedTasks);
+        projectTaskStatsService.applyDeltas(deltas);
+
+        return results;
+    }
+
     @Override
     public int totalNonCompletedTask(String projectCode) {
-        return taskRepository.totalNonCompletedTasks(projectCode);
+        return projectTaskStatsService.totalNonCompletedTask(projectCode);
     }
 
     @Override
     public int totalCompletedTask(String projectCode) {
-        return taskRepository.totalCompletedTasks(projectCode);
+        return projectTaskStatsService.totalCompletedTask(projectCode);
     }
 
     @Override
+    @Transactional
     public void deleteByProject(ProjectDTO projectDTO) {
-        Project project = projectMapper.convertToEntity(projectDTO);
-        List<Task> tasks = taskRepository.findAllByProject(project);
-        tasks.forEach(task -> delete(task.getId()));
+        taskRepository.softDeleteByProject(projectDTO.getId(), LocalDateTime.now(), BaseEntity.DEFAULT_AUDIT_USER_ID);
+        projectTaskStatsService.projectDeleted(projectDTO.getId());
     }
 
     @Override
+    @Transactional
     public void completeByProject(ProjectDTO projectDTO) {
-        Project project = projectMapper.convertToEntity(projectDTO);
-        List<Task> tasks = taskRepository.findAllByProject(project);
-        tasks.stream().map(taskMapper::convertToDto).forEach(taskDTO -> {
-            taskDTO.setTaskStatus(Status.COMPLETE);
-            update(taskDTO);
-        });
+        taskRepository.updateStatusByProject(projectDTO.getId(), Status.COMPLETE, LocalDateTime.now(), BaseEntity.DEFAULT_AUDIT_USER_ID);
+        projectTaskStatsService.projectCompleted(projectDTO.getId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> listAllTasksByStatusIsNot(Status status) {
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        SimpleKeycloakAccount details = (SimpleKeycloakAccount) authentication.getDetails();
-        String username = details.getKeycloakSecurityContext().getToken().getPreferredUsername();
-        
-        UserDTO loggedInUser=userService.findByUserName(username);
+        UserDTO loggedInUser = currentUserService.getUser();
 
         List<Task> tasks = taskRepository.
                 findAllByTaskStatusIsNotAndAssignedEmployee(status, userMapper.convertToEntity(loggedInUser));
@@ -133,13 +281,10 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> listAllTasksByStatus(Status status) {
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        SimpleKeycloakAccount details = (SimpleKeycloakAccount) authentication.getDetails();
-        String username = details.getKeycloakSecurityContext().getToken().getPreferredUsername();
-
-        UserDTO loggedInUser=userService.findByUserName(username);
+        UserDTO loggedInUser = currentUserService.getUser();
 
         List<Task> tasks = taskRepository.
                 findAllByTaskStatusAndAssignedEmployee(status, userMapper.convertToEntity(loggedInUser));
@@ -147,10 +292,46 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> listAllNonCompletedByAssignedEmployee(UserDTO assignedEmployee) {
         List<Task> tasks = taskRepository
                 .findAllByTaskStatusIsNotAndAssignedEmployee(Status.COMPLETE, userMapper.convertToEntity(assignedEmployee));
         return tasks.stream().map(taskMapper::convertToDto).collect(Collectors.toList());
     }
 
+    private List<TaskBatchResultDTO> validate(List<TaskDTO> dtos) throws TicketingProjectException {
+
+        if (dtos.size() > maxBatchSize) {
+            throw new TicketingProjectException("Batch can not contain more than " + maxBatchSize + " tasks");
+        }
+
+        List<TaskBatchResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            TaskDTO dto = dtos.get(i);
+            if (dto == null) {
+                results.add(new TaskBatchResultDTO(i, null, false, "Task is required"));
+                continue;
+            }
+            Set<ConstraintViolation<TaskDTO>> violations = validator.validate(dto);
+            String message = violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", "));
+            results.add(new TaskBatchResultDTO(i, dto.getId(), violations.isEmpty(), violations.isEmpty() ? null : message));
+        }
+        return results;
+    }
+
+    private boolean hasFailures(List<TaskBatchResultDTO> results) {
+        return results.stream().anyMatch(result -> !result.isSuccess());
+    }
+
+    private Long projectId(Task task) {
+        return task.getProject() == null ? null : task.getProject().getId();
+    }
+
+    private Long afterId(String cursor) {
+        return CursorCodec.decodeLong(CursorCodec.decode(cursor, 1)[0]);
+    }
+
 }
@@ -0,0 +1,100 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.User;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.UserDirectoryService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+// Bounded username -> user cache in front of the users table. Entries expire after the TTL and are
+// dropped explicitly by UserServiceImpl on update/delete, once that transaction commits: dropped any earlier, a
+// concurrent read could cache the old row again. Hits and misses are published as cache.gets{cache=userDirectory}.
+// Entries leave the password hash out and callers get copies, so nobody can alter what the next request sees.
+@Service
+@Slf4j
+public class UserDirectoryServiceImpl implements UserDirectoryService {
+
+    public static final String CACHE_NAME = "userDirectory";
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final Cache<String, UserDTO> cache;
+
+    public UserDirectoryServiceImpl(UserRepository userRepository, UserMapper userMapper, MeterRegistry meterRegistry,
+                                    @Value("${ticketing.user-directory.max-size}") long maxSize,
+                                    @Value("${ticketing.user-directory.ttl-seconds}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public UserDTO findByUserName(String username) {
+        UserDTO user = cache.get(username, this::load);
+        if (user == null) {
+            throw new NoSuchElementException("User not found");     // misses are not cached, a new user is visible right away
+        }
+        return copy(user);
+    }
+
+    @Override
+    public void invalidate(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(username);
+            }
+        });
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private void evict(String username) {
+        cache.invalidate(username);
+        log.debug("User directory -> Invalidated: {}", username);
+    }
+
+    private UserDTO load(String username) {
+        User user = userRepository.findByUserNameAndIsDeleted(username, false);
+        return user == null ? null : copy(userMapper.convertToDto(user));
+    }
+
+    private static UserDTO copy(UserDTO user) {
+        UserDTO copy = new UserDTO();
+        copy.setId(user.getId());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setUserName(user.getUserName());
+        copy.setEnabled(user.isEnabled());
+        copy.setPhone(user.getPhone());
+        copy.setRole(user.getRole() == null ? null : new RoleDTO(user.getRole().getId(), user.getRole().getDescription()));
+        copy.setGender(user.getGender());
+        return copy;
+    }
+
+}
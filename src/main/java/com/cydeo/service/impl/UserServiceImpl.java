@@ -1,6 +1,8 @@
 package com.cydeo.service.impl;
 
 import com.cydeo.annotation.DefaultExceptionMessage;
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.PageDTO;
 import com.cydeo.dto.ProjectDTO;
 import com.cydeo.dto.TaskDTO;
 import com.cydeo.dto.UserDTO;
@@ -8,12 +10,19 @@ import com.cydeo.entity.User;
 import com.cydeo.exception.TicketingProjectException;
 import com.cydeo.mapper.UserMapper;
 import com.cydeo.repository.UserRepository;
+import com.cydeo.service.KeycloakOutboxService;
 import com.cydeo.service.ProjectService;
 import com.cydeo.service.TaskService;
+import com.cydeo.service.UserDirectoryService;
 import com.cydeo.service.UserService;
+import com.cydeo.util.CursorCodec;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -26,16 +35,24 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final ProjectService projectService;
     private final TaskService taskService;
-    private final KeycloakServiceImpl keycloakService;
+    private final KeycloakOutboxService keycloakOutboxService;
     private final PasswordEncoder passwordEncoder;
+    private final PaginationProperties paginationProperties;
+    private final UserDirectoryService userDirectoryService;
+    private final TransactionTemplate transactionTemplate;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, @Lazy ProjectService projectService, @Lazy TaskService taskService, KeycloakServiceImpl keycloakService, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, @Lazy ProjectService projectService, @Lazy TaskService taskService, KeycloakOutboxService keycloakOutboxService,
+                           PasswordEncoder passwordEncoder, PaginationProperties paginationProperties, UserDirectoryService userDirectoryService,
+                           PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.projectService = projectService;
         this.taskService = taskService;
-        this.keycloakService = keycloakService;
+        this.keycloakOutboxService = keycloakOutboxService;
         this.passwordEncoder = passwordEncoder;
+        this.paginationProperties = paginationProperties;
+        this.userDirectoryService = userDirectoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -46,24 +63,53 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> listAllUsers() {
         List<User> userList = userRepository.findAllByIsDeletedOrderByFirstNameDesc(false);
         return userList.stream().map(userMapper::convertToDto).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<UserDTO> listUsersPage(String cursor, Integer size) {
+
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);    // one extra row tells us whether there is a next page
+
+        List<User> userList;
+        if (cursor == null) {
+            userList = userRepository.findAllByIsDeletedOrderByFirstNameDescIdDesc(false, limit);
+        } else {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            userList = userRepository.findAllAfter(keys[0], CursorCodec.decodeLong(keys[1]), limit);
+        }
+
+        String nextCursor = null;
+        if (userList.size() > pageSize) {
+            userList = userList.subList(0, pageSize);
+            User last = userList.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.getFirstName(), last.getId());
+        }
+
+        return new PageDTO<>(userList.stream().map(userMapper::convertToDto).collect(Collectors.toList()), nextCursor);
+    }
+
     @Override
     public UserDTO save(UserDTO user) {
 
         user.setEnabled(true); // is gonna take our userDTO and set the value to true we don't need to stub
+        // hashed before the transaction starts: no connection is held while waiting on the hashing pool
         user.setPassWord(passwordEncoder.encode(user.getPassWord()));
 
         User obj = userMapper.convertToEntity(user);// if we don't have mapper with @Spy (userMapper) we will
         // need to stub this one, but since we have userMapper they will take userDTO and  convert to user entity
 
-        User savedUser = userRepository.save(obj);// which is taking my entity and returning the entity/
-        // then we need to stub this method
-
-        keycloakService.userCreate(user); // don't need to stub keyckloak because is not returning anything  //after saving in db saved in keycloak
+        User savedUser = transactionTemplate.execute(status -> {
+            User saved = userRepository.save(obj);// which is taking my entity and returning the entity/
+            // then we need to stub this method
+            keycloakOutboxService.enqueueCreate(user); // Keycloak is updated by the outbox worker once this transaction commits
+            return saved;
+        });
         return userMapper.convertToDto(savedUser);// re convert to DTO
 
     }
@@ -77,22 +123,35 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDTO update(UserDTO user) {
 
-        //Find current user
-        User user1 = userRepository.findByUserNameAndIsDeleted(user.getUserName(), false);  //has id
-        //Encode password
-        user.setPassWord(passwordEncoder.encode(user.getPassWord()));
-        //Map update user dto to entity object
-        User convertedUser = userMapper.convertToEntity(user);   // has id?
-        //set id to the converted object
-        convertedUser.setId(user1.getId());
-        //save the updated user in the db
-        userRepository.save(convertedUser);
+        // a password is only sent to change it; hashed before the transaction, as in save
+        boolean passwordChanged = user.getPassWord() != null && !user.getPassWord().isBlank();
+        if (passwordChanged) {
+            user.setPassWord(passwordEncoder.encode(user.getPassWord()));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            //Find current user, in the same transaction as the save
+            User user1 = userRepository.findByUserNameAndIsDeleted(user.getUserName(), false);  //has id
+            if (!passwordChanged) {
+                user.setPassWord(user1.getPassWord());
+            }
+            //Map update user dto to entity object
+            User convertedUser = userMapper.convertToEntity(user);   // has id?
+            //set id to the converted object
+            convertedUser.setId(user1.getId());
+            convertedUser.setKeycloakId(user1.getKeycloakId());
+            //save the updated user in the db
+            userRepository.save(convertedUser);
+            keycloakOutboxService.enqueueUpdate(user, user1.getKeycloakId());
+            userDirectoryService.invalidate(user.getUserName());    // applied once this transaction commits
+        });
 
         return findByUserName(user.getUserName());
 
     }
 
     @Override
+    @Transactional(rollbackFor = TicketingProjectException.class)
     @DefaultExceptionMessage(defaultMessage = "Failed to delete user")
     public void delete(String username) throws TicketingProjectException{
 
@@ -102,6 +161,8 @@ public class UserServiceImpl implements UserService {
             user.setIsDeleted(true);
             user.setUserName(user.getUserName() + "-" + user.getId());  // harold@manager.com-2
             userRepository.save(user);
+            keycloakOutboxService.enqueueDelete(username, user.getKeycloakId());
+            userDirectoryService.invalidate(username);    // applied once this transaction commits
         }else{
             throw new TicketingProjectException("User can not be deleted");
         }
@@ -110,6 +171,7 @@ public class UserServiceImpl implements UserService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> listAllByRole(String role) {
         List<User> users = userRepository.findByRoleDescriptionIgnoreCaseAndIsDeleted(role, false);
         return users.stream().map(userMapper::convertToDto).collect(Collectors.toList());
@@ -117,12 +179,13 @@ public class UserServiceImpl implements UserService {
 
     private boolean checkIfUserCanBeDeleted(User user) {
 
-        switch (user.getRole().getDescription()) {
+        UserDTO userDTO = userMapper.convertToDto(user);     // the role comes from the catalogue, not the lazy association
+        switch (userDTO.getRole().getDescription()) {
             case "Manager":
-                List<ProjectDTO> projectDTOList = projectService.listAllNonCompletedByAssignedManager(userMapper.convertToDto(user));
+                List<ProjectDTO> projectDTOList = projectService.listAllNonCompletedByAssignedManager(userDTO);
                 return projectDTOList.size() == 0;
             case "Employee":
-                List<TaskDTO> taskDTOList = taskService.listAllNonCompletedByAssignedEmployee(userMapper.convertToDto(user));
+                List<TaskDTO> taskDTOList = taskService.listAllNonCompletedByAssignedEmployee(userDTO);
                 return taskDTOList.size() == 0;
             default:
                 return true;
@@ -0,0 +1,30 @@
+package com.cydeo.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+
+// Builders for the latency and size meters behind /actuator/latency and http.server.requests.sql.*: p50, p90 and p99
+// computed in the application with two significant digits. Registering looks the meter up in the registry, so callers
+// register once per key (method, endpoint) and keep the meters instead of building them per call.
+public final class PercentileMeters {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+
+    private PercentileMeters() {
+    }
+
+    public static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2);
+    }
+
+    public static DistributionSummary.Builder summary(String name, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2);
+    }
+
+}
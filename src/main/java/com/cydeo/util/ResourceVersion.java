@@ -0,0 +1,81 @@
+package com.cydeo.util;
+
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Validators for a conditional GET, built from the id and last_update_date_time columns of every row a response is
+// mapped from. The ETag is a hash of all of them (rows appearing, disappearing or reordering change it too), the
+// Last-Modified is the newest timestamp. HTTP dates have second precision, so If-None-Match is the exact check.
+// Collections get the ETag only: a page can change while its newest timestamp stays put or even goes back (a row
+// soft-deleted or archived off it, an older row moving up from the next page), so If-Modified-Since would answer 304.
+public final class ResourceVersion {
+
+    private final String etag;
+    private final long lastModified;    // epoch millis, -1 when no row carries a timestamp
+
+    private ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public static ResourceVersion ofCollection(List<Object[]> rows) {
+        return new ResourceVersion(of(rows).etag, -1);
+    }
+
+    public static ResourceVersion of(List<Object[]> rows) {
+
+        MessageDigest digest = sha256();
+        LocalDateTime newest = null;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                if (value instanceof LocalDateTime && (newest == null || newest.isBefore((LocalDateTime) value))) {
+                    newest = (LocalDateTime) value;
+                }
+            }
+            digest.update((byte) '\n');
+        }
+
+        StringBuilder etag = new StringBuilder("\"");
+        byte[] hash = digest.digest();
+        for (int i = 0; i < 16; i++) {
+            etag.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+        etag.append('"');
+
+        return new ResourceVersion(etag.toString(), newest == null ? -1 : newest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public HttpHeaders toHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        return headers;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);     // every JRE ships SHA-256
+        }
+    }
+
+}
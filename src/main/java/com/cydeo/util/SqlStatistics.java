@@ -0,0 +1,85 @@
+package com.cydeo.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// What the current thread ran through SqlStatisticsDataSource between start() and close(): statements (a batch is one
+// round trip), rows read or changed, time spent in JDBC calls, and how often each SQL string ran, which is what gives
+// an N+1 away. One instance belongs to one thread, so nothing here is synchronised.
+public final class SqlStatistics implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatistics previous;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long timeNanos;
+
+    private SqlStatistics(SqlStatistics previous) {
+        this.previous = previous;
+    }
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    // null when nothing is being counted on this thread
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void statementExecuted(String sql, long nanos) {
+        statements++;
+        timeNanos += nanos;
+        if (sql != null) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+        if (previous != null) {
+            previous.statementExecuted(sql, nanos);
+        }
+    }
+
+    public void rowsProcessed(long count, long nanos) {
+        rows += count;
+        timeNanos += nanos;
+        if (previous != null) {
+            previous.rowsProcessed(count, nanos);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    // the SQL that ran most often, null before the first statement
+    public String getMostRepeatedSql() {
+        return executions.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(null);
+    }
+
+    public int getMostRepeatedCount() {
+        return executions.values().stream().max(Integer::compare).orElse(0);
+    }
+
+}
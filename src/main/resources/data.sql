@@ -1,14 +1,13 @@
-INSERT INTO roles(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
-VALUES ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Admin'),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Manager'),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Employee');
-INSERT INTO users(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled,
+INSERT INTO roles(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
+VALUES (nextval('role_seq'), '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Admin'),
+       (nextval('role_seq'), '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Manager'),
+       (nextval('role_seq'), '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Employee');
+INSERT INTO users(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled,
                   first_name, last_name, user_name, pass_word, gender, phone, role_id)
-VALUES ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'mike', 'abc1', 'MALE', '', 1),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'ozzy', 'abc1', 'MALE', '', 2),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'sam', 'abc1', 'MALE', '', 3);
+VALUES (nextval('user_seq'), '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'mike', 'abc1', 'MALE', '', (SELECT id FROM roles WHERE description = 'Admin')),
+       (nextval('user_seq'), '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'ozzy', 'abc1', 'MALE', '', (SELECT id FROM roles WHERE description = 'Manager')),
+       (nextval('user_seq'), '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'sam', 'abc1', 'MALE', '', (SELECT id FROM roles WHERE description = 'Employee'));
 
-INSERT INTO projects(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, project_code, project_name,
+INSERT INTO projects(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, project_code, project_name,
                      project_detail, project_status, start_date, end_date, manager_id)
-VALUES ('2022-01-05 00:00:00', 2, false, '2022-01-05 00:00:00', 2, 'SP00', 'Spring Core', 'Spring Core Project', 'OPEN', '2022-01-05', '2022-06-12', 2);
-
+VALUES (nextval('project_seq'), '2022-01-05 00:00:00', 2, false, '2022-01-05 00:00:00', 2, 'SP00', 'Spring Core', 'Spring Core Project', 'OPEN', '2022-01-05', '2022-06-12', (SELECT id FROM users WHERE user_name = 'ozzy'));
@@ -0,0 +1,115 @@
+-- Schema as spring.jpa.hibernate.ddl-auto=update left it. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and start with V2.
+
+CREATE SEQUENCE keycloak_outbox_seq START 1 INCREMENT 50;
+CREATE SEQUENCE project_seq START 1 INCREMENT 50;
+CREATE SEQUENCE role_seq START 1 INCREMENT 50;
+CREATE SEQUENCE task_seq START 1 INCREMENT 50;
+CREATE SEQUENCE user_seq START 1 INCREMENT 50;
+
+CREATE TABLE roles
+(
+    id                    INT8         NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    description           VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users
+(
+    id                    INT8         NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    enabled               BOOLEAN      NOT NULL,
+    first_name            VARCHAR(255),
+    gender                VARCHAR(255),
+    keycloak_id           VARCHAR(36),
+    last_name             VARCHAR(255),
+    pass_word             VARCHAR(255) NOT NULL,
+    phone                 VARCHAR(255),
+    user_name             VARCHAR(255) NOT NULL,
+    role_id               INT8,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE projects
+(
+    id                    INT8         NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    end_date              DATE,
+    project_code          VARCHAR(255),
+    project_detail        VARCHAR(255),
+    project_name          VARCHAR(255),
+    project_status        VARCHAR(255),
+    start_date            DATE,
+    manager_id            INT8,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tasks
+(
+    id                    INT8         NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    assigned_date         DATE,
+    task_detail           VARCHAR(255),
+    task_status           VARCHAR(255),
+    task_subject          VARCHAR(255),
+    assigned_employee_id  INT8,
+    project_id            INT8,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE project_task_stats
+(
+    project_id        INT8 NOT NULL,
+    complete_count    INT8 NOT NULL,
+    in_progress_count INT8 NOT NULL,
+    open_count        INT8 NOT NULL,
+    PRIMARY KEY (project_id)
+);
+
+CREATE TABLE keycloak_outbox
+(
+    id                INT8         NOT NULL,
+    attempts          INT4         NOT NULL,
+    created_at        TIMESTAMP    NOT NULL,
+    event_type        VARCHAR(255) NOT NULL,
+    first_name        VARCHAR(255),
+    keycloak_id       VARCHAR(36),
+    last_error        VARCHAR(1000),
+    last_name         VARCHAR(255),
+    next_attempt_at   TIMESTAMP    NOT NULL,
+    pass_word         VARCHAR(255),
+    processed_at      TIMESTAMP,
+    role_description  VARCHAR(255),
+    status            VARCHAR(255) NOT NULL,
+    user_name         VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE users ADD CONSTRAINT uk_k8d0f2n7n88w1a16yhua64onx UNIQUE (user_name);
+ALTER TABLE users ADD CONSTRAINT uk_366dgrd625s5659shyen79mmw UNIQUE (keycloak_id);
+ALTER TABLE projects ADD CONSTRAINT uk_1batb7mq0elcfcs3d6maqo6sg UNIQUE (project_code);
+
+CREATE INDEX idx_users_is_deleted_first_name_id ON users (is_deleted, first_name, id);
+CREATE INDEX idx_keycloak_outbox_status_next_attempt ON keycloak_outbox (status, next_attempt_at);
+
+ALTER TABLE users ADD CONSTRAINT fkp56c1712k691lhsyewcssf40f FOREIGN KEY (role_id) REFERENCES roles;
+ALTER TABLE projects ADD CONSTRAINT fkurl8wb4qjly2c5xwdcpetuxs FOREIGN KEY (manager_id) REFERENCES users;
+ALTER TABLE tasks ADD CONSTRAINT fk7iqrtjp2fehh8fpmy5ptd425u FOREIGN KEY (assigned_employee_id) REFERENCES users;
+ALTER TABLE tasks ADD CONSTRAINT fksfhn82y57i3k9uxww1s007acc FOREIGN KEY (project_id) REFERENCES projects;
@@ -0,0 +1,51 @@
+-- Cold tables for TaskArchiveServiceImpl. Soft-deleted tasks, tasks complete for longer than
+-- ticketing.archive.complete-after-days and soft-deleted projects are moved here in bounded batches, so the hot
+-- tables and their indexes only hold live rows.
+
+CREATE TABLE tasks_archive
+(
+    id                    INT8         NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    assigned_date         DATE,
+    task_detail           VARCHAR(255),
+    task_status           VARCHAR(255),
+    task_subject          VARCHAR(255),
+    assigned_employee_id  INT8,
+    project_id            INT8,
+    project_code          VARCHAR(255),
+    archived_at           TIMESTAMP    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE projects_archive
+(
+    id                    INT8         NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    end_date              DATE,
+    project_code          VARCHAR(255),
+    project_detail        VARCHAR(255),
+    project_name          VARCHAR(255),
+    project_status        VARCHAR(255),
+    start_date            DATE,
+    manager_id            INT8,
+    archived_at           TIMESTAMP    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- ArchivedTaskRepository pages, newest first
+CREATE INDEX idx_tasks_archive_project_code_id ON tasks_archive (project_code, id);
+CREATE INDEX idx_tasks_archive_employee_id ON tasks_archive (assigned_employee_id, id);
+
+-- what the archiver picks up: soft-deleted tasks (by project, so projects can check that none are left),
+-- tasks complete since before the cutoff and soft-deleted projects
+CREATE INDEX idx_tasks_deleted_project ON tasks (project_id) WHERE is_deleted = true;
+CREATE INDEX idx_tasks_complete_updated ON tasks (last_update_date_time) WHERE task_status = 'COMPLETE' AND is_deleted = false;
+CREATE INDEX idx_projects_deleted ON projects (id) WHERE is_deleted = true;
@@ -0,0 +1,22 @@
+-- BaseEntity and KeycloakOutboxEvent draw ids from per-entity pooled sequences (allocation size 50). Databases that
+-- were filled while the ids were IDENTITY columns, or baselined without running V1, need the sequences created and
+-- moved past their rows. The pooled optimizer hands out the 50 ids below each value it reads, so the next value is
+-- put on a multiple of 50 at least 50 above max(id), and never behind where the sequence already is.
+
+CREATE SEQUENCE IF NOT EXISTS keycloak_outbox_seq START 1 INCREMENT 50;
+CREATE SEQUENCE IF NOT EXISTS project_seq START 1 INCREMENT 50;
+CREATE SEQUENCE IF NOT EXISTS role_seq START 1 INCREMENT 50;
+CREATE SEQUENCE IF NOT EXISTS task_seq START 1 INCREMENT 50;
+CREATE SEQUENCE IF NOT EXISTS user_seq START 1 INCREMENT 50;
+
+-- archived rows keep their ids, so tasks and projects have to clear the archive tables too
+SELECT setval('keycloak_outbox_seq', GREATEST(nextval('keycloak_outbox_seq'),
+       (SELECT (COALESCE(MAX(id), 0) / 50 + 2) * 50 FROM keycloak_outbox)), false);
+SELECT setval('project_seq', GREATEST(nextval('project_seq'),
+       (SELECT (COALESCE(MAX(id), 0) / 50 + 2) * 50 FROM (SELECT id FROM projects UNION ALL SELECT id FROM projects_archive) ids)), false);
+SELECT setval('role_seq', GREATEST(nextval('role_seq'),
+       (SELECT (COALESCE(MAX(id), 0) / 50 + 2) * 50 FROM roles)), false);
+SELECT setval('task_seq', GREATEST(nextval('task_seq'),
+       (SELECT (COALESCE(MAX(id), 0) / 50 + 2) * 50 FROM (SELECT id FROM tasks UNION ALL SELECT id FROM tasks_archive) ids)), false);
+SELECT setval('user_seq', GREATEST(nextval('user_seq'),
+       (SELECT (COALESCE(MAX(id), 0) / 50 + 2) * 50 FROM users)), false);
@@ -0,0 +1,3 @@
+-- ProjectTaskStatsServiceImpl.reconcile recounts a drifted project's archived tasks by project id, under a lock on
+-- its stats row.
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_project_id ON tasks_archive (project_id);
@@ -0,0 +1,4 @@
+-- KeycloakOutboxServiceImpl claims events (IN_PROGRESS, next_attempt_at as the lease) and records each outcome in a
+-- later transaction. The version lets an outcome from a worker whose lease ran out, and whose event was claimed
+-- again, be dropped instead of overwriting the newer claim.
+ALTER TABLE keycloak_outbox ADD COLUMN IF NOT EXISTS version INT8 NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- ProjectRepository.findArchivableIdsForUpdate checks that no task of any state is left for a project, and deleting an
+-- archived project checks the tasks foreign key: both look tasks up by project_id alone, which the partial indexes
+-- of V2 and V3 do not cover.
+CREATE INDEX IF NOT EXISTS idx_tasks_project_id ON tasks (project_id);
@@ -0,0 +1,75 @@
+package com.cydeo.aspect;
+
+import com.cydeo.annotation.ExecutionTime;
+import com.cydeo.controller.LatencyEndpoint;
+import com.cydeo.dto.MethodLatencyDTO;
+import com.cydeo.exception.TicketingProjectException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PerformanceAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TicketingProjectException failure = new TicketingProjectException("Failed");
+    private Timed timed;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Timed());
+        factory.addAspect(new PerformanceAspect(meterRegistry));
+        timed = factory.getProxy();
+    }
+
+    @Test
+    void should_record_success_and_error_separately() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(timed.work()).isEqualTo("done");
+        }
+        assertThrows(TicketingProjectException.class, () -> timed.fail());
+
+        assertThat(meterRegistry.get(PerformanceAspect.METRIC_NAME).tags("method", "work", "outcome", "success").timer().count()).isEqualTo(10);
+        assertThat(meterRegistry.get(PerformanceAspect.METRIC_NAME).tags("method", "fail", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_rethrow_the_original_exception() {
+        TicketingProjectException thrown = assertThrows(TicketingProjectException.class, () -> timed.fail());
+
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void should_report_percentiles_per_method_and_outcome() {
+        timed.work();
+        assertThrows(TicketingProjectException.class, () -> timed.fail());
+
+        List<MethodLatencyDTO> latency = new LatencyEndpoint(meterRegistry).latency();
+
+        assertThat(latency).extracting(MethodLatencyDTO::getMethod, MethodLatencyDTO::getOutcome)
+                .containsExactlyInAnyOrder(tuple("Timed.work", "success"), tuple("Timed.fail", "error"));
+        assertThat(latency).allMatch(method -> method.getCount() == 1 && method.getMaxMs() >= method.getP50Ms());
+    }
+
+    class Timed {
+
+        @ExecutionTime
+        public String work() {
+            return "done";
+        }
+
+        @ExecutionTime
+        public String fail() throws TicketingProjectException {
+            throw failure;
+        }
+    }
+
+}
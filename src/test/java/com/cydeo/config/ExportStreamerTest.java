@@ -0,0 +1,70 @@
+package com.cydeo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExportStreamerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExportStreamer exportStreamer = new ExportStreamer(1, 1, 5_000, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        exportStreamer.close();
+    }
+
+    @Test
+    void should_stream_with_its_own_timeout_and_pool() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        WebAsyncTask<Void> task = exportStreamer.stream(response, "text/csv", "tasks.csv",
+                out -> out.write("a,b\n".getBytes(StandardCharsets.UTF_8)));
+        task.getCallable().call();
+
+        assertThat(task.getTimeout()).isEqualTo(5_000);
+        assertThat(task.getExecutor()).isNotNull();
+        assertThat(response.getContentType()).isEqualTo("text/csv");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=tasks.csv");
+        assertThat(response.getContentAsString()).isEqualTo("a,b\n");
+        assertThat(meterRegistry.get("executor.pool.max").tag("name", "export").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void should_fail_the_next_write_once_timed_out() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<WebAsyncTask<Void>> timedOut = new AtomicReference<>();
+
+        WebAsyncTask<Void> task = exportStreamer.stream(response, "text/csv", "tasks.csv", out -> {
+            out.write("a,b\n".getBytes(StandardCharsets.UTF_8));
+            try {
+                timeoutCallback(timedOut.get()).call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            out.write("c,d\n".getBytes(StandardCharsets.UTF_8));
+        });
+        timedOut.set(task);
+
+        assertThrows(IOException.class, () -> task.getCallable().call());
+        assertThat(response.getContentAsString()).isEqualTo("a,b\n");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Callable<Object> timeoutCallback(WebAsyncTask<Void> task) {
+        return (Callable<Object>) ReflectionTestUtils.getField(task, "timeoutCallback");
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.cydeo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffloadingPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private OffloadingPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        passwordEncoder.close();
+    }
+
+    @Test
+    void should_hash_on_the_pool_with_the_configured_cost() {
+        passwordEncoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, meterRegistry);
+
+        String hash = passwordEncoder.encode("Abc1");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(passwordEncoder.matches("Abc1", hash)).isTrue();
+        assertThat(meterRegistry.get("executor.pool.max").tag("name", "passwordHashing").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void should_reject_when_pool_and_queue_are_full() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        passwordEncoder = new OffloadingPasswordEncoder(blockingEncoder(started), 1, 1, meterRegistry);
+        callers.submit(() -> passwordEncoder.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> passwordEncoder.encode("queued"));
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> passwordEncoder.encode("rejected"));
+
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+}
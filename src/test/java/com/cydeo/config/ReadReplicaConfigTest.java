@@ -0,0 +1,163 @@
+package com.cydeo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReadReplicaConfig.class)
+@TestPropertySource(properties = {"spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "ticketing.datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "ticketing.datasource.replica.username=sa",
+        "ticketing.datasource.replica.maximum-pool-size=3"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)     // the routing is decided per transaction, as behind the services
+class ReadReplicaConfigTest {
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // both databases get the same table with a different row, so a query tells which one it ran on
+    @BeforeEach
+    void setUp() {
+        mark(primaryDataSource, "primary");
+        mark(replicaDataSource, "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(primaryDataSource).execute("DROP TABLE marker");
+        new JdbcTemplate(replicaDataSource).execute("DROP TABLE marker");
+    }
+
+    @Test
+    void should_give_each_pool_its_own_sizing() {
+        assertThat(replicaDataSource.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(replicaDataSource.isReadOnly()).isTrue();
+        assertThat(primaryDataSource.getPoolName()).isEqualTo("primary");
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(10);
+    }
+
+    @Test
+    void should_send_read_only_transactions_to_replica() {
+        assertThat(readOnly()).isEqualTo("replica");
+        assertThat(readWrite()).isEqualTo("primary");
+        assertThat(entityManager.createNativeQuery("SELECT name FROM marker").getSingleResult()).isEqualTo("primary");
+    }
+
+    @Test
+    void should_read_own_writes_for_rest_of_request() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(readOnly()).isEqualTo("replica");
+
+        readWrite();
+
+        assertThat(readOnly()).isEqualTo("primary");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(readOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void should_route_every_transaction_of_an_open_in_view_session() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        EntityManager session = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(session));
+        try {
+            assertThat(readOnly()).isEqualTo("replica");
+            assertThat(readWrite()).isEqualTo("primary");
+            assertThat(readOnly()).isEqualTo("primary");
+            assertThat(session.unwrap(Session.class).getCacheMode()).isEqualTo(CacheMode.NORMAL);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            session.close();
+        }
+    }
+
+    @Test
+    void should_keep_replica_reads_out_of_second_level_cache() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        EntityManager session = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(session));
+        try {
+            assertThat(readOnly(this::cacheMode)).isEqualTo(CacheMode.GET);
+            assertThat(session.unwrap(Session.class).getCacheMode()).isEqualTo(CacheMode.NORMAL);
+
+            readWrite();
+
+            assertThat(readOnly(this::cacheMode)).isEqualTo(CacheMode.NORMAL);     // pinned to the primary
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            session.close();
+        }
+    }
+
+    private String readOnly() {
+        return readOnly(this::marker);
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> work.get());
+    }
+
+    private String readWrite() {
+        return new TransactionTemplate(transactionManager).execute(status -> marker());
+    }
+
+    private String marker() {
+        return (String) entityManager.createNativeQuery("SELECT name FROM marker").getSingleResult();
+    }
+
+    private CacheMode cacheMode() {
+        marker();       // routes the transaction
+        return entityManager.unwrap(Session.class).getCacheMode();
+    }
+
+    private void mark(HikariDataSource dataSource, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", name);
+    }
+
+}
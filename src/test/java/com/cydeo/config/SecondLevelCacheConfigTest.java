@@ -0,0 +1,135 @@
+package com.cydeo.config;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SecondLevelCacheConfig.class)
+@TestPropertySource(properties = {"spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)     // every call commits, as it does behind the services
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(user("cached@cydeo.com"));
+        project = projectRepository.save(project("CACHE1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // soft-deleted rows are invisible to deleteById
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> projectRepository.deleteAllByIds(List.of(project.getId())));
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void should_serve_repeated_lookups_from_cache() {
+        userRepository.findByUserNameAndIsDeleted("cached@cydeo.com", false);
+        projectRepository.findByProjectCode("CACHE1");
+        statistics.clear();
+
+        assertThat(userRepository.findByUserNameAndIsDeleted("cached@cydeo.com", false).getId()).isEqualTo(user.getId());
+        assertThat(projectRepository.findByProjectCode("CACHE1").getId()).isEqualTo(project.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void should_see_soft_delete_renames() {
+        userRepository.findByUserNameAndIsDeleted("cached@cydeo.com", false);
+        projectRepository.findByProjectCode("CACHE1");
+
+        // what UserServiceImpl.delete and ProjectServiceImpl.delete do
+        User deletedUser = userRepository.findByUserNameAndIsDeleted("cached@cydeo.com", false);
+        deletedUser.setIsDeleted(true);
+        deletedUser.setUserName(deletedUser.getUserName() + "-" + deletedUser.getId());
+        userRepository.save(deletedUser);
+        Project deletedProject = projectRepository.findByProjectCode("CACHE1");
+        deletedProject.setIsDeleted(true);
+        deletedProject.setProjectCode(deletedProject.getProjectCode() + "-" + deletedProject.getId());
+        projectRepository.save(deletedProject);
+
+        assertThat(userRepository.findByUserNameAndIsDeleted("cached@cydeo.com", false)).isNull();
+        assertThat(userRepository.findByUserNameAndIsDeleted("cached@cydeo.com-" + user.getId(), true)).isNotNull();
+        assertThat(projectRepository.findByProjectCode("CACHE1")).isNull();
+    }
+
+    @Test
+    void should_publish_hits_and_misses_per_region() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+
+        userRepository.findByUserNameAndIsDeleted("cached@cydeo.com", false);
+        userRepository.findByUserNameAndIsDeleted("cached@cydeo.com", false);
+
+        assertThat(registry.get("cache.gets").tag("cache", SecondLevelCacheConfig.QUERY_RESULTS).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(registry.get("cache.gets").tag("cache", SecondLevelCacheConfig.USERS).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    private User user(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setPassWord("Abc1");
+        return user;
+    }
+
+    private Project project(String code) {
+        Project project = new Project();
+        project.setProjectCode(code);
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(5));
+        return project;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.cydeo.config;
+
+import com.cydeo.util.SqlStatistics;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatisticsDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-statistics;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new SqlStatisticsDataSource(h2));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS item");
+        jdbcTemplate.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(20))");
+    }
+
+    @Test
+    void should_count_statements_rows_and_repeats() {
+        try (SqlStatistics statistics = SqlStatistics.start()) {
+            jdbcTemplate.batchUpdate("INSERT INTO item VALUES (?, ?)", List.of(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}));
+            jdbcTemplate.update("UPDATE item SET name = 'x' WHERE id < ?", 3);
+            for (int id = 1; id <= 3; id++) {
+                jdbcTemplate.queryForObject("SELECT name FROM item WHERE id = ?", String.class, id);
+            }
+            jdbcTemplate.queryForList("SELECT id FROM item", Integer.class);
+
+            assertThat(statistics.getStatements()).isEqualTo(6);    // the batch is one round trip
+            assertThat(statistics.getRows()).isEqualTo(3 + 2 + 3 + 3);
+            assertThat(statistics.getTimeNanos()).isPositive();
+            assertThat(statistics.getMostRepeatedCount()).isEqualTo(3);
+            assertThat(statistics.getMostRepeatedSql()).isEqualTo("SELECT name FROM item WHERE id = ?");
+        }
+    }
+
+    @Test
+    void should_add_nested_counts_to_enclosing_statistics() {
+        try (SqlStatistics request = SqlStatistics.start()) {
+            jdbcTemplate.queryForList("SELECT id FROM item", Integer.class);
+            try (SqlStatistics call = SqlStatistics.start()) {
+                jdbcTemplate.update("INSERT INTO item VALUES (1, 'a')");
+
+                assertThat(call.getStatements()).isEqualTo(1);
+            }
+            assertThat(SqlStatistics.current()).isSameAs(request);
+            assertThat(request.getStatements()).isEqualTo(2);
+            assertThat(request.getRows()).isEqualTo(1);
+        }
+        assertThat(SqlStatistics.current()).isNull();
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.cydeo.controller;
+
+import com.cydeo.config.SqlStatisticsFilter;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.RoleRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every read endpoint has a statement budget that must hold however many rows it returns. Each one runs against a
+// small data set and again after twenty more projects, users and tasks; a count that grows with the rows is an N+1.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = {"Admin", "Manager", "Employee"})
+class ControllerSqlBudgetTest {
+
+    private static final int MORE_ROWS = 20;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private CurrentUserService currentUserService;
+
+    private User manager;
+    private User employee;
+    private final List<Long> taskIds = new ArrayList<>();
+    private final List<Long> projectIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        manager = userRepository.findByUserNameAndIsDeleted("ozzy", false);
+        employee = userRepository.findByUserNameAndIsDeleted("sam", false);
+        addRows(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllById(taskIds);
+        projectRepository.deleteAllById(projectIds);
+        userRepository.deleteAllById(userIds);
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({
+            "/api/v1/task,                               ozzy, 2",
+            "/api/v1/task/{task},                        ozzy, 2",
+            "/api/v1/task/archive,                       ozzy, 1",
+            "/api/v1/task/employee/pending-tasks,        sam,  1",
+            "/api/v1/task/employee/archive,              sam,  1",
+            "/api/v1/task/employee/archive/history,      sam,  1",
+            "/api/v1/project,                            ozzy, 2",
+            "/api/v1/project/BUDGET0,                    ozzy, 2",
+            "/api/v1/project/manager/project-status,     ozzy, 1",
+            "/api/v1/user,                               mike, 1",
+            "/api/v1/user/sam,                           mike, 1"
+    })
+    void should_stay_within_statement_budget_regardless_of_rows(String path, String currentUser, int budget) throws Exception {
+        when(currentUserService.getUsername()).thenReturn(currentUser);
+        when(currentUserService.getUser()).thenReturn(userService.findByUserName(currentUser));     // the user directory's job
+        String url = path.replace("{task}", String.valueOf(taskIds.get(0)));
+
+        int few = SqlBudget.statements(get(url, budget));
+        addRows(MORE_ROWS);
+        int many = SqlBudget.statements(get(url, budget));
+
+        assertThat(many).as("statements of %s with %d more rows", url, MORE_ROWS).isEqualTo(few);
+    }
+
+    @Test
+    void should_publish_statements_per_endpoint() throws Exception {
+        when(currentUserService.getUsername()).thenReturn("ozzy");
+
+        mvc.perform(MockMvcRequestBuilders.get("/api/v1/task/" + taskIds.get(0))).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get(SqlStatisticsFilter.METRIC_PREFIX + ".statements")
+                .tag("method", "GET").tag("uri", "/api/v1/task/{taskId}").summary();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.max()).isEqualTo(2);
+    }
+
+    private MvcResult get(String url, int budget) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk())
+                .andExpect(SqlBudget.statementsAtMost(budget))
+                .andReturn();
+    }
+
+    private void addRows(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = projectIds.size();
+            User user = new User();
+            user.setUserName("budget" + n + "@cydeo.com");
+            user.setPassWord("Abc1");
+            user.setEnabled(true);
+            user.setRole(roleRepository.findByDescription("Employee"));
+            userIds.add(userRepository.save(user).getId());
+
+            Project project = new Project();
+            project.setProjectCode("BUDGET" + n);
+            project.setProjectName("Budget " + n);
+            project.setProjectStatus(Status.OPEN);
+            project.setStartDate(LocalDate.now());
+            project.setEndDate(LocalDate.now().plusDays(5));
+            project.setAssignedManager(manager);
+            project = projectRepository.save(project);
+            projectIds.add(project.getId());
+
+            Task task = new Task();
+            task.setTaskSubject("Subject " + n);
+            task.setTaskDetail("Detail");
+            task.setTaskStatus(Status.IN_PROGRESS);
+            task.setAssignedDate(LocalDate.now());
+            task.setProject(project);
+            task.setAssignedEmployee(employee);
+            taskIds.add(taskRepository.save(task).getId());
+        }
+    }
+
+}
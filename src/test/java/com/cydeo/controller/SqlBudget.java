@@ -0,0 +1,42 @@
+package com.cydeo.controller;
+
+import com.cydeo.config.SqlStatisticsFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// MockMvc matchers over the X-SQL-* headers of SqlStatisticsFilter (on in the test profile), e.g.
+// mvc.perform(get("/api/v1/task")).andExpect(SqlBudget.statementsAtMost(3))
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> assertThat(statements(result))
+                .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher rowsAtMost(long max) {
+        return result -> assertThat(rows(result))
+                .as("SQL rows of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static int statements(MvcResult result) {
+        return Integer.parseInt(header(result, SqlStatisticsFilter.STATEMENTS_HEADER));
+    }
+
+    public static long rows(MvcResult result) {
+        return Long.parseLong(header(result, SqlStatisticsFilter.ROWS_HEADER));
+    }
+
+    private static String header(MvcResult result, String name) {
+        String value = result.getResponse().getHeader(name);
+        assertThat(value).as("%s header, is SqlStatisticsFilter registered with response headers on?", name).isNotNull();
+        return value;
+    }
+
+}
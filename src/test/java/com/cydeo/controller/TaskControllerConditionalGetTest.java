@@ -0,0 +1,101 @@
+package com.cydeo.controller;
+
+import com.cydeo.config.ExportStreamer;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.service.ExportService;
+import com.cydeo.service.TaskArchiveService;
+import com.cydeo.service.TaskService;
+import com.cydeo.util.ResourceVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskControllerConditionalGetTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2022, 12, 20, 10, 30);
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private TaskArchiveService taskArchiveService;
+
+    @Mock
+    private ExportService exportService;
+
+    @Mock
+    private ExportStreamer exportStreamer;
+
+    private MockMvc mvc;
+    private ResourceVersion version;
+    private ResourceVersion pageVersion;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService, exportService, taskArchiveService, exportStreamer)).build();
+        version = ResourceVersion.of(List.<Object[]>of(new Object[]{1L, UPDATED}));
+        pageVersion = ResourceVersion.ofCollection(List.<Object[]>of(new Object[]{1L, UPDATED}));
+    }
+
+    @Test
+    void should_answer_matching_etag_without_loading_task() throws Exception {
+        when(taskService.getVersionById(1L)).thenReturn(version);
+
+        mvc.perform(MockMvcRequestBuilders.get("/api/v1/task/1").header(HttpHeaders.IF_NONE_MATCH, version.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.getEtag()))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).findById(any());
+    }
+
+    @Test
+    void should_answer_matching_etag_without_loading_page() throws Exception {
+        when(taskService.getTasksPageVersion(null, 10)).thenReturn(pageVersion);
+
+        mvc.perform(MockMvcRequestBuilders.get("/api/v1/task").param("size", "10").header(HttpHeaders.IF_NONE_MATCH, pageVersion.getEtag()))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, never()).listTasksPage(any(), any());
+    }
+
+    @Test
+    void should_not_trust_modified_since_for_pages() throws Exception {
+        when(taskService.getTasksPageVersion(null, 10)).thenReturn(pageVersion);
+        when(taskService.listTasksPage(null, 10)).thenReturn(new PageDTO<>(Collections.singletonList(new TaskDTO()), null));
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfModifiedSince(version.getLastModified());     // a row may have left the page since
+
+        mvc.perform(MockMvcRequestBuilders.get("/api/v1/task").param("size", "10").headers(conditional))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void should_return_page_with_etag_only_when_changed() throws Exception {
+        when(taskService.getTasksPageVersion(null, null)).thenReturn(pageVersion);
+        when(taskService.listTasksPage(null, null)).thenReturn(new PageDTO<>(Collections.singletonList(new TaskDTO()), null));
+
+        mvc.perform(MockMvcRequestBuilders.get("/api/v1/task").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, pageVersion.getEtag()))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.cydeo.controller;
+
+import com.cydeo.exception.GlobalExceptionHandler;
+import com.cydeo.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserControllerValidationTest {
+
+    @Mock
+    private UserService userService;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new UserController(userService))
+                .setControllerAdvice(new GlobalExceptionHandler()).build();
+    }
+
+    @Test
+    void should_reject_a_new_user_without_password() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/api/v1/user").contentType(MediaType.APPLICATION_JSON)
+                        .content(user(null)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("confirmPassWord must not be null, passWord must not be blank"));
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void should_reject_a_new_user_breaking_default_constraints() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/api/v1/user").contentType(MediaType.APPLICATION_JSON)
+                        .content(user("Abc1").replace("\"5551234567\"", "\"555\"")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("phone must match \"^\\d{10}$\""));
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void should_create_a_valid_user() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/api/v1/user").contentType(MediaType.APPLICATION_JSON)
+                        .content(user("Abc1")))
+                .andExpect(status().isCreated());
+
+        verify(userService).save(any());
+    }
+
+    private static String user(String password) {
+        String credentials = password == null ? ""
+                : "\"passWord\":\"" + password + "\",\"confirmPassWord\":\"" + password + "\",";
+        return "{\"firstName\":\"Mike\",\"lastName\":\"Smith\",\"userName\":\"mike@cydeo.com\"," + credentials
+                + "\"phone\":\"5551234567\",\"role\":{\"id\":1,\"description\":\"Admin\"},\"gender\":\"MALE\"}";
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.cydeo.mapper;
+
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskMapperTest {
+
+    private final UserMapper userMapper = new UserMapperImpl(new RoleMapperImpl());
+    private final TaskMapper taskMapper = new TaskMapperImpl(new ProjectMapperImpl(userMapper), userMapper);
+
+    @Test
+    void should_map_nested_associations_to_dto() {
+        Task task = task();
+
+        TaskDTO dto = taskMapper.convertToDto(task);
+
+        assertThat(dto.getId()).isEqualTo(7L);
+        assertThat(dto.getTaskStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(dto.getProject().getProjectCode()).isEqualTo("PR001");
+        assertThat(dto.getProject().getAssignedManager().getUserName()).isEqualTo("manager@cydeo.com");
+        assertThat(dto.getProject().getAssignedManager().getRole().getDescription()).isEqualTo("Manager");
+        assertThat(dto.getAssignedEmployee().getRole().getDescription()).isEqualTo("Employee");
+        assertThat(dto.getProject().getCompleteTaskCounts()).isZero();
+    }
+
+    @Test
+    void should_round_trip_to_entity() {
+        Task mapped = taskMapper.convertToEntity(taskMapper.convertToDto(task()));
+
+        assertThat(mapped.getTaskSubject()).isEqualTo("Subject");
+        assertThat(mapped.getProject().getId()).isEqualTo(3L);
+        assertThat(mapped.getProject().getAssignedManager().getRole().getId()).isEqualTo(2L);
+        assertThat(mapped.getAssignedEmployee().getUserName()).isEqualTo("employee@cydeo.com");
+        assertThat(mapped.getIsDeleted()).isFalse();
+    }
+
+    @Test
+    void should_keep_nulls() {
+        assertThat(taskMapper.convertToDto(null)).isNull();
+        assertThat(taskMapper.convertToDto(new Task()).getProject()).isNull();
+    }
+
+    private Task task() {
+        Task task = new Task();
+        task.setId(7L);
+        task.setTaskSubject("Subject");
+        task.setTaskDetail("Detail");
+        task.setTaskStatus(Status.IN_PROGRESS);
+        task.setAssignedDate(LocalDate.now());
+        task.setProject(project());
+        task.setAssignedEmployee(user("employee@cydeo.com", "Employee", 4L));
+        return task;
+    }
+
+    private Project project() {
+        Project project = new Project();
+        project.setId(3L);
+        project.setProjectCode("PR001");
+        project.setProjectName("Project");
+        project.setProjectStatus(Status.OPEN);
+        project.setAssignedManager(user("manager@cydeo.com", "Manager", 2L));
+        return project;
+    }
+
+    private User user(String userName, String roleDescription, Long roleId) {
+        Role role = new Role(roleDescription);
+        role.setId(roleId);
+        User user = new User();
+        user.setUserName(userName);
+        user.setFirstName("John");
+        user.setRole(role);
+        return user;
+    }
+
+}
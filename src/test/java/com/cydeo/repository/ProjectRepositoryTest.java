@@ -0,0 +1,134 @@
+package com.cydeo.repository;
+
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.ProjectTaskStats;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import com.cydeo.util.ResourceVersion;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ProjectRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Statistics statistics;
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Role role = entityManager.persist(new Role("Manager"));
+        manager = entityManager.persist(user("manager@cydeo.com", role));
+    }
+
+    @Test
+    void should_read_task_counts_from_stats() {
+        Project project = entityManager.persist(project("PR001", manager));
+        entityManager.persist(new ProjectTaskStats(project.getId(), 2, 1, 4));
+        entityManager.persist(project("PR002", manager));   // no stats row yet
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ProjectDTO> details = projectRepository.findProjectDetailsByAssignedManager(manager.getId());
+
+        assertThat(details).extracting(ProjectDTO::getProjectCode).containsExactly("PR001", "PR002");
+        ProjectDTO first = details.get(0);
+        assertThat(first.getOpenTaskCounts()).isEqualTo(2);
+        assertThat(first.getInProgressTaskCounts()).isEqualTo(1);
+        assertThat(first.getCompleteTaskCounts()).isEqualTo(4);
+        assertThat(first.getUnfinishedTaskCounts()).isEqualTo(3);
+        ProjectDTO second = details.get(1);
+        assertThat(second.getUnfinishedTaskCounts()).isZero();
+        assertThat(second.getCompleteTaskCounts()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void should_load_dashboard_with_single_statement(int projectCount) {
+        for (int i = 0; i < projectCount; i++) {
+            Project project = entityManager.persist(project("PR" + i, manager));
+            entityManager.persist(new ProjectTaskStats(project.getId(), 1, 0, 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ProjectDTO> details = projectRepository.findProjectDetailsByAssignedManager(manager.getId());
+
+        assertThat(details).hasSize(projectCount);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_change_version_when_manager_changes() {
+        entityManager.persist(project("PR001", manager));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ResourceVersion before = ResourceVersion.of(projectRepository.findVersionByProjectCode("PR001"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(ResourceVersion.of(projectRepository.findVersionByProjectCode("PR001")).getEtag()).isEqualTo(before.getEtag());
+
+        // the project row itself is untouched, only the embedded manager moves on
+        entityManager.getEntityManager().createNativeQuery("UPDATE users SET last_update_date_time = ?1 WHERE id = ?2")
+                .setParameter(1, LocalDateTime.now().plusMinutes(1))
+                .setParameter(2, manager.getId())
+                .executeUpdate();
+
+        ResourceVersion after = ResourceVersion.of(projectRepository.findVersionByProjectCode("PR001"));
+        assertThat(after.getEtag()).isNotEqualTo(before.getEtag());
+        assertThat(after.getLastModified()).isGreaterThan(before.getLastModified());
+    }
+
+    private User user(String userName, Role role) {
+        User user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setUserName(userName);
+        user.setPassWord("Abc1");
+        user.setEnabled(true);
+        user.setGender(Gender.MALE);
+        user.setRole(role);
+        return user;
+    }
+
+    private Project project(String code, User manager) {
+        Project project = new Project();
+        project.setProjectCode(code);
+        project.setProjectName("Project " + code);
+        project.setProjectDetail("Details");
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(5));
+        project.setAssignedManager(manager);
+        return project;
+    }
+
+}
@@ -0,0 +1,295 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.User;
+import com.cydeo.enums.OutboxStatus;
+import com.cydeo.enums.Status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every repository query against the Flyway schema on a real PostgreSQL and EXPLAINs what Hibernate sent.
+// Sequential scans are switched off for the EXPLAIN, so a Seq Scan in the plan means no index can serve the query.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+// plans only, and the slice does not load SecondLevelCacheConfig, which application.properties expects
+@TestPropertySource(properties = {"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+class RepositoryQueryPlanTest {
+
+    private static final Pattern QUERY = Pattern.compile("(?is)^\\s*(select\\b.*\\bfrom\\b|insert\\b.*\\bselect\\b|update\\b|delete\\b).*");
+    private static final StatementRecorder RECORDER = new StatementRecorder();
+    private static final Set<OutboxStatus> OPEN_OUTBOX = EnumSet.of(OutboxStatus.PENDING, OutboxStatus.IN_PROGRESS);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? RECORDER.wrap((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    private static Map<String, String> leadingColumns;     // the data is loaded with the first lookup
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private ProjectTaskStatsRepository projectTaskStatsRepository;
+    @Autowired
+    private KeycloakOutboxRepository keycloakOutboxRepository;
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+    @Autowired
+    private ArchivedProjectRepository archivedProjectRepository;
+
+    // not covered, they read the whole table on purpose: ProjectRepository.findAll(Sort) and findAllIds (task stats
+    // reconcile), TaskRepository.findAll and countAllByProjectAndStatus (reconcile), ArchivedTaskRepository.countAllByProjectAndStatus
+    // (reconcile)
+
+    @Test
+    void project_queries_use_an_index() throws Exception {
+        User manager = user(1L);
+        assertIndexed("findByProjectCode", () -> projectRepository.findByProjectCode("SP00"));
+        assertIndexed("findAllByAssignedManager", () -> projectRepository.findAllByAssignedManager(manager));
+        assertIndexed("findAllByProjectStatusIsNotAndAssignedManager",
+                () -> projectRepository.findAllByProjectStatusIsNotAndAssignedManager(Status.COMPLETE, manager));
+        assertIndexed("findProjectDetailsByAssignedManager", () -> projectRepository.findProjectDetailsByAssignedManager(1L));
+        assertIndexed("findAllByOrderByProjectCode", () -> projectRepository.findAllByOrderByProjectCode(PageRequest.of(0, 50)));
+        assertIndexed("findVersionByProjectCode", () -> projectRepository.findVersionByProjectCode("SP00"));
+        assertIndexed("findVersionsOrderByProjectCode", () -> projectRepository.findVersionsOrderByProjectCode(PageRequest.of(0, 51)));
+        assertIndexed("findVersionsByProjectCodeGreaterThanOrderByProjectCode",
+                () -> projectRepository.findVersionsByProjectCodeGreaterThanOrderByProjectCode("SP00", PageRequest.of(0, 51)));
+        assertIndexed("findAllByProjectCodeGreaterThanOrderByProjectCode",
+                () -> projectRepository.findAllByProjectCodeGreaterThanOrderByProjectCode("SP00", PageRequest.of(0, 50)));
+    }
+
+    @Test
+    void task_queries_use_an_index() throws Exception {
+        Project project = new Project();
+        project.setId(1L);
+        User employee = user(1L);
+        assertIndexed("findAllByProject", () -> taskRepository.findAllByProject(project));
+        assertIndexed("findAllByOrderById", () -> taskRepository.findAllByOrderById(PageRequest.of(0, 50)));
+        assertIndexed("findAllByIdGreaterThanOrderById", () -> taskRepository.findAllByIdGreaterThanOrderById(1L, PageRequest.of(0, 50)));
+        assertIndexed("findVersionById", () -> taskRepository.findVersionById(1L));
+        assertIndexed("findVersionsOrderById", () -> taskRepository.findVersionsOrderById(PageRequest.of(0, 51)));
+        assertIndexed("findVersionsByIdGreaterThanOrderById", () -> taskRepository.findVersionsByIdGreaterThanOrderById(1L, PageRequest.of(0, 51)));
+        assertIndexed("updateStatusByProject",
+                () -> taskRepository.updateStatusByProject(1L, Status.COMPLETE, LocalDateTime.now(), 1L));
+        assertIndexed("softDeleteByProject", () -> taskRepository.softDeleteByProject(1L, LocalDateTime.now(), 1L));
+        assertIndexed("findAllByTaskStatusIsNotAndAssignedEmployee",
+                () -> taskRepository.findAllByTaskStatusIsNotAndAssignedEmployee(Status.COMPLETE, employee));
+        assertIndexed("findAllByTaskStatusAndAssignedEmployee",
+                () -> taskRepository.findAllByTaskStatusAndAssignedEmployee(Status.OPEN, employee));
+    }
+
+    @Test
+    void user_and_role_queries_use_an_index() throws Exception {
+        assertIndexed("findAllByIsDeletedOrderByFirstNameDesc", () -> userRepository.findAllByIsDeletedOrderByFirstNameDesc(false));
+        assertIndexed("findAllByIsDeletedOrderByFirstNameDescIdDesc",
+                () -> userRepository.findAllByIsDeletedOrderByFirstNameDescIdDesc(false, PageRequest.of(0, 50)));
+        assertIndexed("findAllAfter", () -> userRepository.findAllAfter("Mike", 1L, PageRequest.of(0, 50)));
+        assertIndexed("findByUserNameAndIsDeleted", () -> userRepository.findByUserNameAndIsDeleted("mike@cydeo.com", false));
+        assertIndexed("updateKeycloakId", () -> userRepository.updateKeycloakId("mike@cydeo.com", "kc-1"));
+        assertIndexed("findAllByKeycloakIdIsNullAndIsDeletedAndIdGreaterThanOrderById",
+                () -> userRepository.findAllByKeycloakIdIsNullAndIsDeletedAndIdGreaterThanOrderById(false, 0L, PageRequest.of(0, 100)));
+        assertIndexed("deleteByUserName", () -> userRepository.deleteByUserName("mike@cydeo.com"));
+        assertIndexed("findByRoleDescriptionIgnoreCaseAndIsDeleted",
+                () -> userRepository.findByRoleDescriptionIgnoreCaseAndIsDeleted("manager", false));
+        assertIndexed("findByDescription", () -> roleRepository.findByDescription("Manager"));
+    }
+
+    @Test
+    void stats_and_outbox_queries_use_an_index() throws Exception {
+        assertIndexed("findNonCompletedCountByProjectCode", () -> projectTaskStatsRepository.findNonCompletedCountByProjectCode("SP00"));
+        assertIndexed("findCompletedCountByProjectCode", () -> projectTaskStatsRepository.findCompletedCountByProjectCode("SP00"));
+        assertIndexed("increment", () -> projectTaskStatsRepository.increment(1L, 1, 0, 0));
+        assertIndexed("completeAll", () -> projectTaskStatsRepository.completeAll(1L));
+        assertIndexed("lockById", () -> projectTaskStatsRepository.lockById(1L));
+        assertIndexed("overwrite", () -> projectTaskStatsRepository.overwrite(1L, 0, 0, 0));
+        assertIndexed("TaskRepository.countByProjectAndStatus", () -> taskRepository.countByProjectAndStatus(1L));
+        assertIndexed("ArchivedTaskRepository.countByProjectAndStatus", () -> archivedTaskRepository.countByProjectAndStatus(1L));
+        assertIndexed("findDueForUpdate",
+                () -> keycloakOutboxRepository.findDueForUpdate(OPEN_OUTBOX, LocalDateTime.now(), PageRequest.of(0, 50)));
+        assertIndexed("countByStatus", () -> keycloakOutboxRepository.countByStatus(OutboxStatus.DEAD));
+        assertIndexed("countByStatusIn", () -> keycloakOutboxRepository.countByStatusIn(OPEN_OUTBOX));
+        assertIndexed("findOldestCreatedAt", () -> keycloakOutboxRepository.findOldestCreatedAt(OPEN_OUTBOX));
+    }
+
+    @Test
+    void archive_queries_use_an_index() throws Exception {
+        List<Long> missingIds = List.of(-1L, -2L);     // statements run for real, so nothing is moved
+        assertIndexed("findDeletedIdsForUpdate", () -> taskRepository.findDeletedIdsForUpdate(500));
+        assertIndexed("findCompletedBeforeIdsForUpdate",
+                () -> taskRepository.findCompletedBeforeIdsForUpdate(LocalDateTime.now().minusDays(90), 500));
+        assertIndexed("copyFromTasks", () -> archivedTaskRepository.copyFromTasks(missingIds, LocalDateTime.now()));
+        assertIndexed("TaskRepository.deleteAllByIds", () -> taskRepository.deleteAllByIds(missingIds));
+        assertIndexed("findArchivableIdsForUpdate", () -> projectRepository.findArchivableIdsForUpdate(500));
+        assertIndexed("copyFromProjects", () -> archivedProjectRepository.copyFromProjects(missingIds, LocalDateTime.now()));
+        assertIndexed("ProjectRepository.deleteAllByIds", () -> projectRepository.deleteAllByIds(missingIds));
+        assertIndexed("findAllByIdLessThanOrderByIdDesc",
+                () -> archivedTaskRepository.findAllByIdLessThanOrderByIdDesc(Long.MAX_VALUE, PageRequest.of(0, 51)));
+        assertIndexed("findAllByProjectCodeAndIdLessThanOrderByIdDesc",
+                () -> archivedTaskRepository.findAllByProjectCodeAndIdLessThanOrderByIdDesc("SP00", Long.MAX_VALUE, PageRequest.of(0, 51)));
+        assertIndexed("findAllByAssignedEmployeeIdAndTaskStatusAndIsDeletedAndIdLessThanOrderByIdDesc",
+                () -> archivedTaskRepository.findAllByAssignedEmployeeIdAndTaskStatusAndIsDeletedAndIdLessThanOrderByIdDesc(
+                        1L, Status.COMPLETE, false, Long.MAX_VALUE, PageRequest.of(0, 51)));
+    }
+
+    private void assertIndexed(String name, Runnable query) throws Exception {
+        entityManager.flush();
+        RECORDER.drain();
+        query.run();
+        entityManager.flush();
+        List<StatementRecorder.RecordedStatement> statements = new ArrayList<>();
+        for (StatementRecorder.RecordedStatement statement : RECORDER.drain()) {
+            if (QUERY.matcher(statement.getSql()).matches()) {
+                statements.add(statement);
+            }
+        }
+        assertThat(statements).as("%s sent no query", name).isNotEmpty();
+        if (leadingColumns == null) {
+            leadingColumns = loadData();
+        }
+
+        for (StatementRecorder.RecordedStatement statement : statements) {
+            JsonNode plan = explain(statement);
+            List<String> fullScans = new ArrayList<>();
+            collectFullScans(plan, false, fullScans);
+            assertThat(fullScans).as("%s scans a whole table or index:%n%s%n%s", name, statement.getSql(), plan.toPrettyString())
+                    .isEmpty();
+        }
+        RECORDER.drain();   // the EXPLAINs themselves
+    }
+
+    private JsonNode explain(StatementRecorder.RecordedStatement recorded) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL enable_seqscan = off");
+                }
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + recorded.getSql())) {
+                    for (StatementRecorder.Binding binding : recorded.getBindings()) {
+                        binding.applyTo(statement);
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    // commits query-plan-data.sql outside the test transaction, returns index name -> first key column (null for
+    // expression indexes)
+    private Map<String, String> loadData() throws Exception {
+        Map<String, String> columns = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("query-plan-data.sql"));
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT c.relname, a.attname FROM pg_index i " +
+                         "JOIN pg_class c ON c.oid = i.indexrelid " +
+                         "LEFT JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0] " +
+                         "WHERE c.relnamespace = 'public'::regnamespace")) {
+                while (resultSet.next()) {
+                    columns.put(resultSet.getString(1), resultSet.getString(2));
+                }
+            }
+        }
+        return columns;
+    }
+
+    // an index walked end to end is only fine when a Limit stops it early (keyset pages); a condition on a later key
+    // column alone still walks the whole index
+    private void collectFullScans(JsonNode node, boolean underLimit, List<String> fullScans) {
+        String type = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText();
+        if (type.equals("Seq Scan")) {
+            fullScans.add(type + " on " + relation);
+        } else if (type.endsWith("Index Scan") || type.equals("Index Only Scan")) {
+            String index = node.path("Index Name").asText();
+            String leadingColumn = leadingColumns.get(index);
+            String condition = node.path("Index Cond").asText(null);
+            boolean bounded = condition != null
+                    && (leadingColumn == null || Pattern.compile("(?<![.\\w])" + leadingColumn + "\\b").matcher(condition).find());
+            if (!bounded && !underLimit) {
+                fullScans.add(type + " on " + relation + " using " + index);
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectFullScans(child, underLimit || type.equals("Limit"), fullScans);
+        }
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+}
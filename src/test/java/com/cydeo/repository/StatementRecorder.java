@@ -0,0 +1,103 @@
+package com.cydeo.repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Wraps a DataSource so every executed PreparedStatement is kept together with its parameter bindings
+// (the setXxx calls), which can then be replayed on another statement, e.g. an EXPLAIN of the same SQL.
+class StatementRecorder {
+
+    static class Binding {
+
+        private final Method method;
+        private final Object[] args;
+
+        Binding(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+
+        void applyTo(PreparedStatement statement) throws Exception {
+            method.invoke(statement, args);
+        }
+    }
+
+    static class RecordedStatement {
+
+        private final String sql;
+        private final List<Binding> bindings;
+
+        RecordedStatement(String sql, List<Binding> bindings) {
+            this.sql = sql;
+            this.bindings = bindings;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        List<Binding> getBindings() {
+            return bindings;
+        }
+    }
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, result) ->
+                result instanceof Connection ? connection((Connection) result) : result);
+    }
+
+    // statements executed since the last call
+    List<RecordedStatement> drain() {
+        List<RecordedStatement> drained = new ArrayList<>(statements);
+        statements.clear();
+        return drained;
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) ->
+                method.getName().startsWith("prepare") && result instanceof PreparedStatement
+                        ? statement((PreparedStatement) result, (String) args[0]) : result);
+    }
+
+    private PreparedStatement statement(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length > 1 && method.getParameterTypes()[0] == int.class) {
+                bindings.add(new Binding(method, args));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                statements.add(new RecordedStatement(sql, new ArrayList<>(bindings)));
+            }
+            return result;
+        });
+    }
+
+    private interface AfterCall {
+        Object apply(Method method, Object[] args, Object result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return afterCall.apply(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+}
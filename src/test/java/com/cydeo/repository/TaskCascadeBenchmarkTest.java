@@ -0,0 +1,127 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.BaseEntity;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.enums.Status;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares the old per-task cascade (load, map, findById, save for every task) with the bulk UPDATE
+// used by TaskServiceImpl.completeByProject / deleteByProject. Latencies are printed after the run.
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskCascadeBenchmarkTest {
+
+    private static final List<String> results = new ArrayList<>();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        project = new Project();
+        project.setProjectCode("BENCH");
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(5));
+        project = entityManager.persist(project);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1000, 3000})
+    void complete_project_per_task_vs_bulk(int taskCount) {
+
+        createTasks(taskCount);
+        statistics.clear();
+        long before = System.nanoTime();
+
+        taskRepository.findAllByProject(project).forEach(task -> {   // previous implementation
+            Task found = taskRepository.findById(task.getId()).orElseThrow();
+            found.setTaskStatus(Status.COMPLETE);
+            taskRepository.save(found);
+        });
+        entityManager.flush();
+
+        long perTaskNanos = System.nanoTime() - before;
+        long perTaskStatements = statistics.getPrepareStatementCount();
+        long perTaskUpdates = statistics.getEntityUpdateCount();
+
+        entityManager.clear();
+        createTasks(taskCount);
+        statistics.clear();
+        before = System.nanoTime();
+
+        int updated = taskRepository.updateStatusByProject(project.getId(), Status.COMPLETE, LocalDateTime.now(), BaseEntity.DEFAULT_AUDIT_USER_ID);
+
+        long bulkNanos = System.nanoTime() - before;
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        assertThat(updated).isEqualTo(taskCount);
+        assertThat(bulkStatements).isEqualTo(1);
+        assertThat(perTaskUpdates).isEqualTo(taskCount);
+
+        results.add(String.format("%6d tasks | per-task: %6d ms, %6d row updates, %4d statements | bulk: %4d ms, %d statement",
+                taskCount, perTaskNanos / 1_000_000, perTaskUpdates, perTaskStatements, bulkNanos / 1_000_000, bulkStatements));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1000})
+    void delete_project_sets_audit_columns(int taskCount) {
+
+        createTasks(taskCount);
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1);
+
+        int deleted = taskRepository.softDeleteByProject(project.getId(), now, BaseEntity.DEFAULT_AUDIT_USER_ID);
+
+        assertThat(deleted).isEqualTo(taskCount);
+        assertThat(taskRepository.findAllByProject(project)).isEmpty();
+        Object lastUpdate = entityManager.getEntityManager()
+                .createNativeQuery("SELECT MIN(last_update_date_time) FROM tasks WHERE project_id = ?1")
+                .setParameter(1, project.getId())
+                .getSingleResult();
+        assertThat(lastUpdate.toString()).startsWith(now.toLocalDate().toString());
+    }
+
+    @AfterAll
+    static void printResults() {
+        results.forEach(System.out::println);
+    }
+
+    private void createTasks(int taskCount) {
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setTaskSubject("Subject " + i);
+            task.setTaskStatus(i % 2 == 0 ? Status.OPEN : Status.IN_PROGRESS);
+            task.setAssignedDate(LocalDate.now());
+            task.setProject(project);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+}
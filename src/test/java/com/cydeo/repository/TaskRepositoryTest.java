@@ -0,0 +1,179 @@
+package com.cydeo.repository;
+
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ProjectMapper;
+import com.cydeo.mapper.ProjectMapperImpl;
+import com.cydeo.mapper.RoleMapperImpl;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.mapper.TaskMapperImpl;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.mapper.UserMapperImpl;
+import com.cydeo.service.RoleService;
+import com.cydeo.service.impl.RoleServiceImpl;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each list endpoint maps the whole Task -> Project -> User tree and resolves roles from the role catalogue; the fetch
+// plans must load it in one statement no matter how many distinct projects, employees and roles are on the page.
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private final RoleMapperImpl roleMapper = new RoleMapperImpl();
+    private final UserMapper userMapper = new UserMapperImpl(roleMapper);
+    private final ProjectMapper projectMapper = new ProjectMapperImpl(userMapper);
+    private final TaskMapper taskMapper = new TaskMapperImpl(projectMapper, userMapper);
+
+    private Statistics statistics;
+    private RoleService roleService;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        roleService = new RoleServiceImpl(roleRepository);
+        roleMapper.setRoleService(roleService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void should_map_all_tasks_with_single_statement(int taskCount) {
+        createTasks(taskCount);
+
+        List<TaskDTO> tasks = countStatements(() -> map(taskRepository.findAll()), 1);
+
+        assertThat(tasks).hasSize(taskCount);
+        assertThat(tasks).allMatch(task -> task.getProject().getAssignedManager().getRole().getDescription().startsWith("Manager"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void should_not_load_roles_with_users(int taskCount) {
+        createTasks(taskCount);
+        entityManager.clear();
+
+        List<Task> tasks = taskRepository.findAll();
+
+        assertThat(tasks).allSatisfy(task -> {
+            assertThat(Hibernate.isInitialized(task.getAssignedEmployee().getRole())).isFalse();
+            assertThat(Hibernate.isInitialized(task.getProject().getAssignedManager().getRole())).isFalse();
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void should_map_task_page_with_single_statement(int taskCount) {
+        createTasks(taskCount);
+
+        List<TaskDTO> tasks = countStatements(() -> map(taskRepository.findAllByOrderById(PageRequest.of(0, 100))), 1);
+
+        assertThat(tasks).hasSize(taskCount);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void should_map_employee_tasks_with_single_statement(int taskCount) {
+        createTasks(taskCount);
+
+        List<TaskDTO> pending = countStatements(() -> map(taskRepository.findAllByTaskStatusIsNotAndAssignedEmployee(Status.COMPLETE, employee)), 1);
+        List<TaskDTO> open = countStatements(() -> map(taskRepository.findAllByTaskStatusAndAssignedEmployee(Status.OPEN, employee)), 1);
+
+        assertThat(pending).hasSize(taskCount);
+        assertThat(open).hasSize(taskCount);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void should_map_projects_with_single_statement(int taskCount) {
+        createTasks(taskCount);
+
+        List<ProjectDTO> projects = countStatements(() -> projectRepository.findAll(Sort.by("projectCode")).stream()
+                .map(projectMapper::convertToDto).collect(Collectors.toList()), 1);
+
+        assertThat(projects).allMatch(project -> project.getAssignedManager() == null || project.getAssignedManager().getRole() != null);
+    }
+
+    private <T> T countStatements(Supplier<T> work, long expected) {
+        entityManager.clear();
+        statistics.clear();
+        T result = work.get();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        return result;
+    }
+
+    private List<TaskDTO> map(List<Task> tasks) {
+        return tasks.stream().map(taskMapper::convertToDto).collect(Collectors.toList());
+    }
+
+    // one project, manager and role per task so nothing is served from the persistence context
+    private void createTasks(int taskCount) {
+        Role employeeRole = entityManager.persist(new Role("Employee"));
+        employee = entityManager.persist(user("employee@cydeo.com", employeeRole));
+        for (int i = 0; i < taskCount; i++) {
+            Role managerRole = entityManager.persist(new Role("Manager " + i));
+            User manager = entityManager.persist(user("manager" + i + "@cydeo.com", managerRole));
+
+            Project project = new Project();
+            project.setProjectCode("PR" + i);
+            project.setProjectStatus(Status.OPEN);
+            project.setStartDate(LocalDate.now());
+            project.setEndDate(LocalDate.now().plusDays(5));
+            project.setAssignedManager(manager);
+            entityManager.persist(project);
+
+            Task task = new Task();
+            task.setTaskSubject("Subject " + i);
+            task.setTaskStatus(Status.OPEN);
+            task.setAssignedDate(LocalDate.now());
+            task.setProject(project);
+            task.setAssignedEmployee(employee);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        roleService.refresh();
+    }
+
+    private User user(String userName, Role role) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setPassWord("Abc1");
+        user.setRole(role);
+        return user;
+    }
+
+}
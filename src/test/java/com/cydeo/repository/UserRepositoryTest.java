@@ -0,0 +1,80 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 25; i++) {
+            entityManager.persist(user("user" + i + "@cydeo.com", "Name" + (i % 4), false));  // duplicate first names
+        }
+        entityManager.persist(user("deleted@cydeo.com", "Zed", true));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void should_walk_all_pages_in_sort_order_without_gaps() {
+        List<Long> expected = userRepository.findAllByIsDeletedOrderByFirstNameDesc(false).stream()
+                .sorted((a, b) -> a.getFirstName().equals(b.getFirstName())
+                        ? b.getId().compareTo(a.getId()) : b.getFirstName().compareTo(a.getFirstName()))
+                .map(User::getId).collect(Collectors.toList());
+
+        List<Long> walked = new ArrayList<>();
+        List<User> page = userRepository.findAllByIsDeletedOrderByFirstNameDescIdDesc(false, PageRequest.of(0, 4));
+        while (!page.isEmpty()) {
+            page.forEach(user -> walked.add(user.getId()));
+            User last = page.get(page.size() - 1);
+            page = userRepository.findAllAfter(last.getFirstName(), last.getId(), PageRequest.of(0, 4));
+        }
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void should_read_deep_page_with_single_bounded_statement() {
+        User last = userRepository.findAllByIsDeletedOrderByFirstNameDescIdDesc(false, PageRequest.of(0, 20)).get(19);
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<User> page = userRepository.findAllAfter(last.getFirstName(), last.getId(), PageRequest.of(0, 5));
+
+        assertThat(page).hasSizeLessThanOrEqualTo(5).noneMatch(User::getIsDeleted);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private User user(String userName, String firstName, boolean deleted) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Doe");
+        user.setUserName(userName);
+        user.setPassWord("Abc1");
+        user.setIsDeleted(deleted);
+        return user;
+    }
+
+}
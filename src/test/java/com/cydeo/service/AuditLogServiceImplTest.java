@@ -0,0 +1,78 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.AuditEventDTO;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.service.impl.AuditLogServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuditLogServiceImpl auditLogService = new AuditLogServiceImpl(meterRegistry, 2, 1.0,
+            List.of("TaskController.getTasks=0", "ProjectController.getProjects=0.5"), 256);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        auditLogService.stop();
+    }
+
+    @Test
+    void should_drop_and_count_when_queue_is_full() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {     // writer not started yet: only two fit
+            auditLogService.publish(event());
+        }
+        assertThat(count("dropped")).isEqualTo(3);
+
+        auditLogService.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (count("written") < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(count("written")).isEqualTo(2);
+        assertThat(meterRegistry.get("audit.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void should_sample_per_endpoint() {
+        int sampled = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertThat(auditLogService.isSampled("TaskController.getTasks")).isFalse();
+            assertThat(auditLogService.isSampled("TaskController.getTaskById")).isTrue();
+            sampled += auditLogService.isSampled("ProjectController.getProjects") ? 1 : 0;
+        }
+
+        assertThat(sampled).isBetween(350, 650);
+        assertThat(count("sampled_out")).isEqualTo(1000 + (1000 - sampled));
+    }
+
+    @Test
+    void should_summarize_lists_by_size_and_truncate() {
+        ResponseEntity<ResponseWrapper> page = ResponseEntity.ok(new ResponseWrapper("Tasks are retrieved",
+                new PageDTO<>(Collections.nCopies(500, "task"), "cursor"), HttpStatus.OK));
+
+        assertThat(auditLogService.summarize(page))
+                .isEqualTo("status=200, body={success=true, code=200, message=Tasks are retrieved, data=[500 items], hasNext=true}");
+        assertThat(auditLogService.summarize("x".repeat(10_000))).hasSize(259).endsWith("...");
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("audit.events").tag("result", result).counter().count();
+    }
+
+    private AuditEventDTO event() {
+        return new AuditEventDTO(Instant.now(), "TaskController.getTaskById", "user", "success", "status=200");
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.cydeo.service;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.ExportFormat;
+import com.cydeo.enums.Status;
+import com.cydeo.service.impl.ExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ExportServiceImpl.class, JacksonAutoConfiguration.class})
+class ExportServiceImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Project project;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        project = new Project();
+        project.setProjectCode("PR001");
+        project.setProjectName("Export, \"quoted\"");
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.of(2024, 1, 1));
+        project.setEndDate(LocalDate.of(2024, 2, 1));
+        project = entityManager.persist(project);
+
+        employee = new User();
+        employee.setUserName("employee@cydeo.com");
+        employee.setPassWord("Abc1");
+        employee = entityManager.persist(employee);
+        entityManager.flush();  // the export reads through JDBC, not the persistence context
+    }
+
+    @Test
+    void should_stream_filtered_tasks_as_ndjson() throws IOException {
+        entityManager.persist(task("First", Status.OPEN, employee));
+        entityManager.persist(task("Second", Status.COMPLETE, employee));
+        entityManager.persist(task("Third", Status.OPEN, null));
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportTasks("PR001", Status.OPEN, "employee@cydeo.com", ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(1);
+        assertThat(lines).hasSize(1);
+        JsonNode json = objectMapper.readTree(lines[0]);
+        assertThat(json.get("taskSubject").asText()).isEqualTo("First");
+        assertThat(json.get("taskStatus").asText()).isEqualTo("OPEN");
+        assertThat(json.get("assignedDate").asText()).isEqualTo(LocalDate.now().toString());
+        assertThat(json.get("projectCode").asText()).isEqualTo("PR001");
+        assertThat(json.get("id").isNumber()).isTrue();
+    }
+
+    @Test
+    void should_stream_projects_as_escaped_csv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportProjects(ExportFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("id,projectCode,projectName,startDate,endDate,projectStatus,projectDetail,assignedManager\r\n");
+        assertThat(csv).contains(",PR001,\"Export, \"\"quoted\"\"\",2024-01-01,2024-02-01,OPEN,,\r\n");
+    }
+
+    @Test
+    void should_write_header_only_when_nothing_matches() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportTasks("MISSING", null, null, ExportFormat.CSV, out);
+
+        assertThat(rows).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,taskSubject,taskDetail,taskStatus,assignedDate,projectCode,projectName,assignedEmployee\r\n");
+    }
+
+    @Test
+    void should_export_large_result_without_buffering_it() throws IOException {
+        for (int i = 0; i < 5000; i++) {
+            entityManager.persist(task("Subject " + i, Status.IN_PROGRESS, employee));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CountingOutputStream out = new CountingOutputStream();
+
+        long rows = exportService.exportTasks("PR001", null, null, ExportFormat.NDJSON, out);
+
+        assertThat(rows).isEqualTo(5000);
+        assertThat(out.lines).isEqualTo(5000);
+    }
+
+    private Task task(String subject, Status status, User assignedEmployee) {
+        Task task = new Task();
+        task.setTaskSubject(subject);
+        task.setTaskDetail("Detail");
+        task.setTaskStatus(status);
+        task.setAssignedDate(LocalDate.now());
+        task.setProject(project);
+        task.setAssignedEmployee(assignedEmployee);
+        return task;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.User;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.impl.KeycloakIdBackfillServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cydeo.service.KeycloakStubConfig.STUB;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({KeycloakIdBackfillServiceImpl.class, KeycloakStubConfig.class})
+@TestPropertySource(properties = "ticketing.keycloak-backfill.page-size=2")
+class KeycloakIdBackfillServiceImplTest {
+
+    @Autowired
+    private KeycloakIdBackfillService keycloakIdBackfillService;
+
+    @Autowired
+    private KeycloakService keycloakService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        STUB.reset();
+    }
+
+    @Test
+    void should_resolve_missing_ids_page_by_page() {
+        List<Long> ids = new ArrayList<>();
+        List<String> keycloakIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(entityManager.persist(user("user" + i + "@cydeo.com")).getId());
+            keycloakIds.add(i == 3 ? null : keycloakService.userCreate(userDTO("user" + i + "@cydeo.com")));    // user3 never reached Keycloak
+        }
+        entityManager.flush();
+
+        keycloakIdBackfillService.backfill();
+        entityManager.clear();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(userRepository.findById(ids.get(i)).orElseThrow().getKeycloakId()).isEqualTo(keycloakIds.get(i));
+        }
+        int searches = STUB.count("GET " + KeycloakStubServer.REALM + "/users");
+        int unresolved = userRepository.findAllByKeycloakIdIsNullAndIsDeletedAndIdGreaterThanOrderById(false, 0L, Pageable.unpaged()).size();
+
+        keycloakIdBackfillService.backfill();     // only users still without an id are searched again
+
+        assertThat(STUB.count("GET " + KeycloakStubServer.REALM + "/users") - searches).isEqualTo(unresolved);
+    }
+
+    private User user(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setPassWord("Abc1");
+        return user;
+    }
+
+    private UserDTO userDTO(String userName) {
+        UserDTO user = new UserDTO();
+        user.setUserName(userName);
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setPassWord("Abc1");
+        user.setRole(new RoleDTO(null, "Employee"));
+        return user;
+    }
+
+}
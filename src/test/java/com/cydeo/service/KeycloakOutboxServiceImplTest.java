@@ -0,0 +1,225 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.KeycloakOutboxEvent;
+import com.cydeo.entity.User;
+import com.cydeo.enums.OutboxStatus;
+import com.cydeo.repository.KeycloakOutboxRepository;
+import com.cydeo.service.impl.KeycloakOutboxServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.cydeo.service.KeycloakStubConfig.STUB;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({KeycloakOutboxServiceImpl.class, KeycloakStubConfig.class})
+@TestPropertySource(properties = {"ticketing.keycloak-outbox.batch-size=2", "ticketing.keycloak-outbox.max-attempts=3",
+        "ticketing.keycloak-outbox.backoff-base-ms=0"})
+class KeycloakOutboxServiceImplTest {
+
+    @Autowired
+    private KeycloakOutboxService keycloakOutboxService;
+
+    @Autowired
+    private KeycloakService keycloakService;
+
+    @Autowired
+    private KeycloakOutboxRepository keycloakOutboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        STUB.reset();
+    }
+
+    @Test
+    void should_drain_pending_events_in_batches() {
+        for (int i = 0; i < 5; i++) {
+            keycloakOutboxService.enqueueCreate(user("user" + i + "@cydeo.com"));
+        }
+        assertThat(gauge("keycloak.outbox.depth")).isEqualTo(5);
+
+        keycloakOutboxService.drain();
+
+        assertThat(STUB.userNames()).hasSize(5);
+        assertThat(keycloakOutboxRepository.findAll()).allMatch(event -> event.getStatus() == OutboxStatus.DONE)
+                .allMatch(event -> event.getPassWord() == null);
+        assertThat(gauge("keycloak.outbox.depth")).isZero();
+        assertThat(gauge("keycloak.outbox.lag")).isZero();
+    }
+
+    @Test
+    void should_retry_with_backoff_until_keycloak_recovers() {
+        STUB.failUserCreates(2);
+        keycloakOutboxService.enqueueCreate(user("user@cydeo.com"));
+
+        keycloakOutboxService.processBatch();
+        keycloakOutboxService.processBatch();
+        KeycloakOutboxEvent event = keycloakOutboxRepository.findAll().get(0);
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(2);
+        assertThat(event.getLastError()).contains("503");
+
+        keycloakOutboxService.processBatch();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(STUB.userNames()).containsExactly("user@cydeo.com");
+    }
+
+    @Test
+    void should_dead_letter_after_max_attempts() {
+        STUB.failUserCreates(10);
+        keycloakOutboxService.enqueueCreate(user("user@cydeo.com"));
+        double deadBefore = meterRegistry.counter("keycloak.outbox.processed", "result", "dead").count();
+
+        for (int i = 0; i < 4; i++) {
+            keycloakOutboxService.processBatch();
+        }
+
+        KeycloakOutboxEvent event = keycloakOutboxRepository.findAll().get(0);
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(event.getPassWord()).isNull();
+        assertThat(meterRegistry.counter("keycloak.outbox.processed", "result", "dead").count() - deadBefore).isEqualTo(1);
+        assertThat(gauge("keycloak.outbox.dead")).isEqualTo(1);
+    }
+
+    @Test
+    void should_purge_finished_events_past_retention() {
+        for (int i = 0; i < 3; i++) {
+            keycloakOutboxService.enqueueCreate(user("user" + i + "@cydeo.com"));
+        }
+        keycloakOutboxService.processBatch();
+        List<KeycloakOutboxEvent> events = keycloakOutboxRepository.findAll();
+        events.get(0).setProcessedAt(LocalDateTime.now().minusDays(8));
+        events.get(1).setProcessedAt(LocalDateTime.now().minusDays(6));
+
+        assertThat(keycloakOutboxService.purge()).isEqualTo(1);
+
+        assertThat(keycloakOutboxRepository.findAll()).extracting(KeycloakOutboxEvent::getUserName)
+                .containsExactly("user1@cydeo.com", "user2@cydeo.com");     // too recent, and still pending
+    }
+
+    @Test
+    void should_store_keycloak_id_and_address_later_changes_by_id() {
+        User user = new User();
+        user.setUserName("user@cydeo.com");
+        user.setPassWord("Abc1");
+        user = entityManager.persistFlushFind(user);
+        keycloakOutboxService.enqueueCreate(user("user@cydeo.com"));
+        keycloakOutboxService.enqueueUpdate(user("user@cydeo.com"), null);
+        keycloakOutboxService.enqueueDelete("user@cydeo.com", null);
+
+        assertThat(keycloakOutboxService.processBatch()).isEqualTo(1);     // update and delete wait for the create
+        entityManager.refresh(user);
+        String keycloakId = user.getKeycloakId();
+        assertThat(keycloakId).isNotNull();
+        assertThat(keycloakOutboxService.processBatch()).isEqualTo(1);
+        assertThat(keycloakOutboxService.processBatch()).isEqualTo(1);
+
+        assertThat(STUB.userNames()).isEmpty();
+        assertThat(STUB.count("PUT " + KeycloakStubServer.REALM + "/users/" + keycloakId)).isEqualTo(1);
+        assertThat(STUB.count("DELETE " + KeycloakStubServer.REALM + "/users/" + keycloakId)).isEqualTo(1);
+    }
+
+    @Test
+    void should_delete_by_stored_id_without_searching() {
+        String keycloakId = keycloakService.userCreate(user("user@cydeo.com"));
+        STUB.reset();
+        keycloakOutboxService.enqueueDelete("user@cydeo.com", keycloakId);
+
+        keycloakOutboxService.drain();
+
+        assertThat(STUB.count("DELETE " + KeycloakStubServer.REALM + "/users/" + keycloakId)).isEqualTo(1);
+        assertThat(STUB.count("GET " + KeycloakStubServer.REALM + "/users")).isZero();
+    }
+
+    @Test
+    void should_claim_again_once_the_lease_runs_out() {
+        keycloakOutboxService.enqueueCreate(user("user@cydeo.com"));
+        KeycloakOutboxEvent event = keycloakOutboxRepository.findAll().get(0);
+        event.setStatus(OutboxStatus.IN_PROGRESS);      // claimed by a worker that died
+        event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+
+        assertThat(keycloakOutboxService.processBatch()).isEqualTo(1);
+
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(STUB.userNames()).containsExactly("user@cydeo.com");
+    }
+
+    @Test
+    void should_leave_leased_events_and_their_successors_alone() {
+        keycloakOutboxService.enqueueCreate(user("user@cydeo.com"));
+        keycloakOutboxService.enqueueDelete("user@cydeo.com", null);
+        KeycloakOutboxEvent event = keycloakOutboxRepository.findAll().get(0);
+        event.setStatus(OutboxStatus.IN_PROGRESS);      // another worker is applying it
+        event.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+
+        assertThat(keycloakOutboxService.processBatch()).isZero();
+        assertThat(gauge("keycloak.outbox.depth")).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void should_claim_and_record_in_separate_transactions() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> keycloakOutboxService.enqueueCreate(user("user@cydeo.com")));
+        try {
+            assertThat(keycloakOutboxService.processBatch()).isEqualTo(1);
+
+            KeycloakOutboxEvent event = keycloakOutboxRepository.findAll().get(0);
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.DONE);
+            assertThat(event.getVersion()).isEqualTo(2);     // claimed, then recorded
+        } finally {
+            keycloakOutboxRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void should_only_enqueue_inside_the_callers_transaction() {
+        assertThrows(IllegalTransactionStateException.class, () -> keycloakOutboxService.enqueueDelete("user@cydeo.com", null));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private UserDTO user(String userName) {
+        UserDTO user = new UserDTO();
+        user.setUserName(userName);
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setPassWord("Abc1");
+        user.setRole(new RoleDTO(null, "Employee"));
+        return user;
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.cydeo.service;
+
+import com.cydeo.config.KeycloakAdminConfig;
+import com.cydeo.config.KeycloakProperties;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.service.impl.KeycloakServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+
+import javax.ws.rs.WebApplicationException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cydeo.service.KeycloakStubServer.REALM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Runs the admin client against a local stub of the Keycloak REST API and counts the outbound calls.
+class KeycloakServiceImplTest {
+
+    private final KeycloakStubServer stub = new KeycloakStubServer();
+
+    private Keycloak keycloak;
+    private KeycloakService keycloakService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub.start();
+        KeycloakProperties properties = stub.properties();
+        keycloak = new KeycloakAdminConfig().keycloakAdminClient(properties);
+        keycloakService = new KeycloakServiceImpl(properties, keycloak);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keycloak.close();
+        stub.stop();
+    }
+
+    @Test
+    void should_reuse_token_client_and_roles_across_users() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(keycloakService.userCreate(user("user" + i + "@cydeo.com", i % 2 == 0 ? "Manager" : "Employee")));
+        }
+        keycloakService.delete(ids.get(0));
+
+        assertThat(stub.count("POST /auth/realms/master/protocol/openid-connect/token")).isEqualTo(1);
+        assertThat(stub.count("GET " + REALM + "/clients")).isEqualTo(1);
+        assertThat(stub.count("GET " + REALM + "/clients/client-1/roles/Manager")).isEqualTo(1);
+        assertThat(stub.count("GET " + REALM + "/clients/client-1/roles/Employee")).isEqualTo(1);
+        assertThat(stub.count("POST " + REALM + "/users")).isEqualTo(20);
+        assertThat(stub.count("ROLE-MAPPING client-1")).isEqualTo(20);
+        assertThat(stub.userNames()).hasSize(19).doesNotContain("user0@cydeo.com");
+        assertThat(stub.count("GET " + REALM + "/users")).isZero();     // addressed by id, never searched
+    }
+
+    @Test
+    void should_release_the_connection_of_a_failed_create() {
+        stub.failUserCreates(10);       // twice the pool size
+        for (int i = 0; i < 10; i++) {
+            assertThrows(WebApplicationException.class, () -> keycloakService.userCreate(user("user@cydeo.com", "Manager")));
+        }
+
+        assertThat(keycloakService.userCreate(user("user@cydeo.com", "Manager"))).isNotNull();
+    }
+
+    @Test
+    void should_find_id_by_exact_user_name() {
+        String id = keycloakService.userCreate(user("first@cydeo.com", "Manager"));
+        keycloakService.userCreate(user("first@cydeo.com.au", "Manager"));
+
+        assertThat(keycloakService.findIdByUserName("first@cydeo.com")).contains(id);
+        assertThat(keycloakService.findIdByUserName("missing@cydeo.com")).isEmpty();
+    }
+
+    @Test
+    void should_update_and_tolerate_deleting_a_missing_user_by_id() {
+        String id = keycloakService.userCreate(user("first@cydeo.com", "Manager"));
+
+        keycloakService.update(id, user("first@cydeo.com", "Manager"));
+        keycloakService.delete(id);
+        keycloakService.delete(id);
+
+        assertThat(stub.count("PUT " + REALM + "/users/" + id)).isEqualTo(1);
+        assertThat(stub.count("DELETE " + REALM + "/users/" + id)).isEqualTo(2);
+        assertThat(stub.userNames()).isEmpty();
+    }
+
+    @Test
+    void should_refresh_metadata_when_client_was_recreated() {
+        keycloakService.userCreate(user("first@cydeo.com", "Manager"));
+        stub.recreateClient("client-2");
+
+        keycloakService.userCreate(user("second@cydeo.com", "Manager"));
+
+        assertThat(stub.count("GET " + REALM + "/clients")).isEqualTo(2);
+        assertThat(stub.count("ROLE-MAPPING client-2")).isEqualTo(1);
+        assertThat(stub.count("GET " + REALM + "/clients/client-2/roles/Manager")).isEqualTo(1);
+    }
+
+    @Test
+    void should_finish_role_assignment_when_user_already_exists() {
+        String id = keycloakService.userCreate(user("first@cydeo.com", "Manager"));
+
+        assertThat(keycloakService.userCreate(user("first@cydeo.com", "Manager"))).isEqualTo(id);
+
+        assertThat(stub.userNames()).containsExactly("first@cydeo.com");
+        assertThat(stub.count("ROLE-MAPPING client-1")).isEqualTo(2);
+    }
+
+    private UserDTO user(String userName, String role) {
+        UserDTO user = new UserDTO();
+        user.setUserName(userName);
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setPassWord("Abc1");
+        user.setRole(new RoleDTO(null, role));
+        return user;
+    }
+
+}
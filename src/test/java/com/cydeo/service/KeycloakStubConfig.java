@@ -0,0 +1,43 @@
+package com.cydeo.service;
+
+import com.cydeo.config.KeycloakAdminConfig;
+import com.cydeo.service.impl.KeycloakServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.keycloak.admin.client.Keycloak;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Wires the real KeycloakServiceImpl to one KeycloakStubServer shared by the Spring tests of this package.
+@TestConfiguration
+class KeycloakStubConfig {
+
+    static final KeycloakStubServer STUB = new KeycloakStubServer();
+
+    static {
+        try {
+            STUB.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean(destroyMethod = "close")
+    Keycloak keycloak() {
+        return new KeycloakAdminConfig().keycloakAdminClient(STUB.properties());
+    }
+
+    @Bean
+    KeycloakService keycloakService(Keycloak keycloak) {
+        return new KeycloakServiceImpl(STUB.properties(), keycloak);
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.cydeo.service;
+
+import com.cydeo.config.KeycloakProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Local stand-in for the Keycloak token and admin REST endpoints used by KeycloakServiceImpl. Counts every call by
+// "METHOD path", keeps the created users in memory and can be told to fail user creation.
+class KeycloakStubServer {
+
+    static final String REALM = "/auth/admin/realms/cydeo-dev";
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Map<String, String> users = new ConcurrentHashMap<>();   // id -> username
+    private final AtomicInteger failingCreates = new AtomicInteger();
+    private final AtomicInteger ids = new AtomicInteger();
+    private volatile String clientUuid = "client-1";
+    private HttpServer server;
+
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    KeycloakProperties properties() {
+        KeycloakProperties properties = new KeycloakProperties();
+        properties.setAuthServerUrl("http://localhost:" + server.getAddress().getPort() + "/auth");
+        properties.setRealm("cydeo-dev");
+        properties.setClientId("ticketing-app");
+        properties.setMasterRealm("master");
+        properties.setMasterUser("admin");
+        properties.setMasterUserPswd("admin");
+        properties.setMasterClient("master-client");
+        properties.setAdminPoolSize(5);
+        properties.setAdminMinTokenValidity(30);
+        properties.setAdminConnectTimeoutMs(2000);
+        properties.setAdminReadTimeoutMs(5000);
+        properties.setAdminCheckoutTimeoutMs(1000);
+        return properties;
+    }
+
+    int count(String key) {
+        return calls.getOrDefault(key, new AtomicInteger()).get();
+    }
+
+    Set<String> userNames() {
+        return Set.copyOf(users.values());
+    }
+
+    void recreateClient(String uuid) {
+        clientUuid = uuid;
+    }
+
+    void failUserCreates(int times) {
+        failingCreates.set(times);
+    }
+
+    void reset() {
+        calls.clear();
+        users.clear();
+        failingCreates.set(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        calls.computeIfAbsent(method + " " + path, key -> new AtomicInteger()).incrementAndGet();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+        if (path.endsWith("/protocol/openid-connect/token")) {
+            respond(exchange, 200, "{\"access_token\":\"token\",\"expires_in\":300,\"refresh_expires_in\":1800," +
+                    "\"refresh_token\":\"refresh\",\"token_type\":\"bearer\"}");
+        } else if (method.equals("POST") && path.equals(REALM + "/users")) {
+            createUser(exchange, body);
+        } else if (method.equals("GET") && path.equals(REALM + "/clients")) {
+            respond(exchange, 200, "[{\"id\":\"" + clientUuid + "\",\"clientId\":\"ticketing-app\"}]");
+        } else if (method.equals("GET") && path.startsWith(REALM + "/clients/" + clientUuid + "/roles/")) {
+            String role = path.substring(path.lastIndexOf('/') + 1);
+            respond(exchange, 200, "{\"id\":\"" + role + "-id\",\"name\":\"" + role + "\",\"clientRole\":true}");
+        } else if (method.equals("POST") && path.startsWith(REALM + "/users/") && path.endsWith("/role-mappings/clients/" + clientUuid)) {
+            calls.computeIfAbsent("ROLE-MAPPING " + clientUuid, key -> new AtomicInteger()).incrementAndGet();
+            respond(exchange, 204, null);
+        } else if (method.equals("GET") && path.equals(REALM + "/users")) {
+            String userName = query == null ? "" : query.replaceAll(".*(?:search|username)=([^&]*).*", "$1").replace("%40", "@");
+            StringBuilder json = new StringBuilder("[");
+            users.forEach((id, name) -> {
+                if (name.equals(userName)) {
+                    json.append(json.length() > 1 ? "," : "").append("{\"id\":\"").append(id).append("\",\"username\":\"").append(name).append("\"}");
+                }
+            });
+            respond(exchange, 200, json.append("]").toString());
+        } else if (method.equals("GET") && path.startsWith(REALM + "/users/") && users.containsKey(path.substring(path.lastIndexOf('/') + 1))) {
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            respond(exchange, 200, "{\"id\":\"" + id + "\",\"username\":\"" + users.get(id) + "\"}");
+        } else if (method.equals("PUT") && path.startsWith(REALM + "/users/") && users.containsKey(path.substring(path.lastIndexOf('/') + 1))) {
+            respond(exchange, 204, null);
+        } else if (method.equals("DELETE") && path.startsWith(REALM + "/users/") && users.remove(path.substring(path.lastIndexOf('/') + 1)) != null) {
+            respond(exchange, 204, null);
+        } else {
+            respond(exchange, 404, "{\"error\":\"not found\"}");
+        }
+    }
+
+    private void createUser(HttpExchange exchange, String body) throws IOException {
+        if (failingCreates.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+            respond(exchange, 503, "{\"error\":\"unavailable\"}");
+            return;
+        }
+        String userName = body.replaceAll(".*\"username\"\\s*:\\s*\"([^\"]*)\".*", "$1");
+        if (users.containsValue(userName)) {
+            respond(exchange, 409, "{\"errorMessage\":\"User exists with same username\"}");
+            return;
+        }
+        String id = "uid-" + ids.incrementAndGet();
+        users.put(id, userName);
+        exchange.getResponseHeaders().add("Location", "http://localhost" + REALM + "/users/" + id);
+        respond(exchange, 201, null);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+
+}
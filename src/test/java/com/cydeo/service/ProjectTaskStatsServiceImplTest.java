@@ -0,0 +1,150 @@
+package com.cydeo.service;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.ProjectTaskStats;
+import com.cydeo.entity.Task;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ArchivedTaskRepository;
+import com.cydeo.repository.ProjectTaskStatsRepository;
+import com.cydeo.service.impl.ProjectTaskStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ProjectTaskStatsServiceImpl.class)
+class ProjectTaskStatsServiceImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectTaskStatsService projectTaskStatsService;
+
+    @Autowired
+    private ProjectTaskStatsRepository projectTaskStatsRepository;
+
+    @MockBean
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = entityManager.persist(project("PR001"));
+        projectTaskStatsService.projectCreated(project.getId());
+    }
+
+    @Test
+    void should_track_task_lifecycle() {
+        projectTaskStatsService.taskCreated(project.getId(), Status.OPEN);
+        projectTaskStatsService.taskCreated(project.getId(), Status.OPEN);
+        projectTaskStatsService.taskChanged(project.getId(), Status.OPEN, project.getId(), Status.IN_PROGRESS);
+        projectTaskStatsService.taskDeleted(project.getId(), Status.OPEN);
+
+        ProjectTaskStats stats = reload();
+        assertThat(stats.getOpenCount()).isZero();
+        assertThat(stats.getInProgressCount()).isEqualTo(1);
+        assertThat(projectTaskStatsService.totalNonCompletedTask("PR001")).isEqualTo(1);
+
+        projectTaskStatsService.projectCompleted(project.getId());
+
+        assertThat(projectTaskStatsService.totalNonCompletedTask("PR001")).isZero();
+        assertThat(projectTaskStatsService.totalCompletedTask("PR001")).isEqualTo(1);
+    }
+
+    @Test
+    void should_create_missing_row_on_first_task() {
+        Project legacy = entityManager.persist(project("PR002"));
+
+        projectTaskStatsService.taskCreated(legacy.getId(), Status.COMPLETE);
+
+        assertThat(projectTaskStatsService.totalCompletedTask("PR002")).isEqualTo(1);
+    }
+
+    @Test
+    void should_rebuild_counters_and_report_drift() {
+        projectTaskStatsService.reconcile();    // absorbs the seed data
+
+        entityManager.persist(task(Status.OPEN, false));
+        entityManager.persist(task(Status.COMPLETE, false));
+        entityManager.persist(task(Status.COMPLETE, true));     // soft deleted, must not be counted
+        Project other = entityManager.persist(project("PR002"));
+        entityManager.persist(new ProjectTaskStats(-1L, 3, 0, 0));  // orphan row
+        entityManager.flush();
+
+        int drift = projectTaskStatsService.reconcile();
+
+        assertThat(drift).isEqualTo(3);
+        ProjectTaskStats stats = reload();
+        assertThat(stats.getOpenCount()).isEqualTo(1);
+        assertThat(stats.getCompleteCount()).isEqualTo(1);
+        assertThat(projectTaskStatsRepository.existsById(other.getId())).isTrue();
+        assertThat(projectTaskStatsRepository.existsById(-1L)).isFalse();
+
+        assertThat(projectTaskStatsService.reconcile()).isZero();
+    }
+
+    @Test
+    void should_keep_a_task_write_landing_between_the_bulk_reads() {
+        projectTaskStatsService.reconcile();
+        doAnswer(invocation -> {    // runs right after the bulk task count, there are no archived tasks
+            entityManager.persist(task(Status.OPEN, false));    // a concurrent create, committed after that count
+            projectTaskStatsService.taskCreated(project.getId(), Status.OPEN);
+            return List.of();
+        }).when(archivedTaskRepository).countAllByProjectAndStatus();
+
+        assertThat(projectTaskStatsService.reconcile()).isZero();
+
+        assertThat(reload().getOpenCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_read_fresh_counters_after_an_increment() {
+        projectTaskStatsRepository.findById(project.getId()).orElseThrow();    // managed, with the old counts
+
+        projectTaskStatsService.taskCreated(project.getId(), Status.OPEN);
+
+        assertThat(projectTaskStatsService.totalNonCompletedTask("PR001")).isEqualTo(1);
+    }
+
+    private ProjectTaskStats reload() {
+        entityManager.flush();
+        entityManager.clear();
+        return projectTaskStatsRepository.findById(project.getId()).orElseThrow();
+    }
+
+    private Project project(String code) {
+        Project project = new Project();
+        project.setProjectCode(code);
+        project.setProjectName("Project " + code);
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(5));
+        return project;
+    }
+
+    private Task task(Status status, boolean deleted) {
+        Task task = new Task();
+        task.setTaskSubject("Subject");
+        task.setTaskDetail("Detail");
+        task.setTaskStatus(status);
+        task.setAssignedDate(LocalDate.now());
+        task.setProject(project);
+        task.setIsDeleted(deleted);
+        return task;
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.entity.Role;
+import com.cydeo.repository.RoleRepository;
+import com.cydeo.service.impl.RoleServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RoleServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)     // role changes must really commit to reach the catalogue
+class RoleServiceImplTest {
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Role added;
+
+    @AfterEach
+    void tearDown() {
+        if (added != null) {
+            roleRepository.deleteById(added.getId());
+        }
+    }
+
+    @Test
+    void should_serve_roles_from_memory() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        RoleDTO manager = roleService.listAllRoles().stream()
+                .filter(role -> role.getDescription().equals("Manager")).findFirst().orElseThrow();
+
+        assertThat(roleService.listAllRoles()).extracting(RoleDTO::getDescription).contains("Admin", "Manager", "Employee");
+        assertThat(roleService.findById(manager.getId())).isEqualTo(manager);
+        assertThat(roleService.findById(-1L)).isNull();
+        assertThat(roleService.findById(null)).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThrows(UnsupportedOperationException.class, () -> roleService.listAllRoles().add(new RoleDTO()));
+    }
+
+    @Test
+    void should_hand_out_copies() {
+        RoleDTO manager = roleService.listAllRoles().stream()
+                .filter(role -> role.getDescription().equals("Manager")).findFirst().orElseThrow();
+
+        manager.setDescription("Changed");
+        roleService.findById(manager.getId()).setDescription("Changed");
+
+        assertThat(roleService.findById(manager.getId()).getDescription()).isEqualTo("Manager");
+        assertThat(roleService.listAllRoles()).extracting(RoleDTO::getDescription).contains("Manager").doesNotContain("Changed");
+    }
+
+    @Test
+    void should_reload_after_role_change_commits() {
+        added = roleRepository.save(new Role("Auditor"));
+
+        assertThat(roleService.findById(added.getId())).isNotNull()
+                .satisfies(role -> assertThat(role.getDescription()).isEqualTo("Auditor"));
+
+        added.setDescription("Reviewer");
+        roleRepository.save(added);
+
+        assertThat(roleService.findById(added.getId()).getDescription()).isEqualTo("Reviewer");
+    }
+
+}
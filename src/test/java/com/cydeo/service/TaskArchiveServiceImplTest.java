@@ -0,0 +1,194 @@
+package com.cydeo.service;
+
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.ArchivedTaskDTO;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.ArchivedTask;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ArchivedTaskMapperImpl;
+import com.cydeo.repository.ArchivedProjectRepository;
+import com.cydeo.repository.ArchivedTaskRepository;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.impl.ProjectTaskStatsServiceImpl;
+import com.cydeo.service.impl.TaskArchiveServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskArchiveServiceImpl.class, ProjectTaskStatsServiceImpl.class, ArchivedTaskMapperImpl.class, PaginationProperties.class})
+@TestPropertySource(properties = {"ticketing.archive.batch-size=2", "ticketing.archive.complete-after-days=30"})
+class TaskArchiveServiceImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private ProjectTaskStatsService projectTaskStatsService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private ArchivedProjectRepository archivedProjectRepository;
+
+    @MockBean
+    private CurrentUserService currentUserService;
+
+    private User employee;
+    private Project liveProject;
+    private Project deletedProject;
+    private final List<Long> liveTaskIds = new ArrayList<>();
+    private final List<Long> archivableTaskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employee = entityManager.persist(user("employee@cydeo.com"));
+        liveProject = entityManager.persist(project("PR001", false));
+        deletedProject = entityManager.persist(project("PR002", true));
+
+        liveTaskIds.add(entityManager.persist(task(liveProject, Status.OPEN, false)).getId());
+        liveTaskIds.add(entityManager.persist(task(liveProject, Status.COMPLETE, false)).getId());     // complete, but recently
+        for (int i = 0; i < 3; i++) {
+            archivableTaskIds.add(entityManager.persist(task(liveProject, Status.COMPLETE, false)).getId());
+            archivableTaskIds.add(entityManager.persist(task(liveProject, Status.IN_PROGRESS, true)).getId());
+            archivableTaskIds.add(entityManager.persist(task(deletedProject, Status.OPEN, true)).getId());
+        }
+        entityManager.flush();
+
+        // @PreUpdate would stamp now(), so the completion time is pushed back in SQL
+        entityManager.getEntityManager().createNativeQuery("UPDATE tasks SET last_update_date_time = ?1 WHERE task_status = 'COMPLETE' AND id <> ?2")
+                .setParameter(1, LocalDateTime.now().minusDays(31))
+                .setParameter(2, liveTaskIds.get(1))
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void should_move_deleted_and_long_completed_rows_in_batches() {
+        int moved = taskArchiveService.archive();
+        entityManager.clear();
+
+        assertThat(moved).isEqualTo(archivableTaskIds.size() + 1);
+        assertThat(taskRepository.findAll()).extracting(Task::getId).containsExactlyInAnyOrderElementsOf(liveTaskIds);
+        assertThat(archivedTaskRepository.findAll()).extracting(ArchivedTask::getId).containsExactlyInAnyOrderElementsOf(archivableTaskIds);
+        assertThat(archivedTaskRepository.findAll()).filteredOn(task -> task.getProjectId().equals(deletedProject.getId()))
+                .extracting(ArchivedTask::getProjectCode).containsOnly("PR002");
+
+        assertThat(projectRepository.findAllIds()).contains(liveProject.getId());
+        Number leftOver = (Number) entityManager.getEntityManager().createNativeQuery("SELECT COUNT(*) FROM projects WHERE id = ?1")
+                .setParameter(1, deletedProject.getId()).getSingleResult();
+        assertThat(leftOver.intValue()).isZero();
+        assertThat(archivedProjectRepository.findAll()).singleElement()
+                .satisfies(project -> assertThat(project.getId()).isEqualTo(deletedProject.getId()));
+
+        assertThat(taskArchiveService.archive()).isZero();
+    }
+
+    @Test
+    void should_keep_counting_archived_completed_tasks() {
+        projectTaskStatsService.reconcile();
+
+        taskArchiveService.archive();
+
+        assertThat(projectTaskStatsService.reconcile()).isZero();
+        assertThat(projectTaskStatsService.totalCompletedTask("PR001")).isEqualTo(4);
+    }
+
+    @Test
+    void should_page_archived_tasks_newest_first() {
+        taskArchiveService.archive();
+
+        List<Long> walked = new ArrayList<>();
+        PageDTO<ArchivedTaskDTO> page = taskArchiveService.listArchivedTasksPage(null, null, 4);
+        walked.addAll(ids(page));
+        while (page.getNextCursor() != null) {
+            page = taskArchiveService.listArchivedTasksPage(null, page.getNextCursor(), 4);
+            walked.addAll(ids(page));
+        }
+
+        assertThat(walked).isSortedAccordingTo((a, b) -> Long.compare(b, a))
+                .containsExactlyInAnyOrderElementsOf(archivableTaskIds);
+        assertThat(ids(taskArchiveService.listArchivedTasksPage("PR002", null, 10))).hasSize(3);
+    }
+
+    @Test
+    void should_list_only_completed_archived_tasks_of_current_employee() {
+        taskArchiveService.archive();
+        UserDTO current = new UserDTO();
+        current.setId(employee.getId());
+        when(currentUserService.getUser()).thenReturn(current);
+
+        PageDTO<ArchivedTaskDTO> page = taskArchiveService.listEmployeeArchivedTasksPage(null, null);
+
+        assertThat(page.getItems()).hasSize(3).allSatisfy(task -> {
+            assertThat(task.getTaskStatus()).isEqualTo(Status.COMPLETE);
+            assertThat(task.isDeleted()).isFalse();
+        });
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private List<Long> ids(PageDTO<ArchivedTaskDTO> page) {
+        return page.getItems().stream().map(ArchivedTaskDTO::getId).collect(Collectors.toList());
+    }
+
+    private Task task(Project project, Status status, boolean deleted) {
+        Task task = new Task();
+        task.setTaskSubject("Subject");
+        task.setTaskDetail("Detail");
+        task.setTaskStatus(status);
+        task.setAssignedDate(LocalDate.now());
+        task.setProject(project);
+        task.setAssignedEmployee(employee);
+        task.setIsDeleted(deleted);
+        return task;
+    }
+
+    private Project project(String code, boolean deleted) {
+        Project project = new Project();
+        project.setProjectCode(code);
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(5));
+        project.setIsDeleted(deleted);
+        return project;
+    }
+
+    private User user(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setPassWord("Abc1");
+        return user;
+    }
+
+}
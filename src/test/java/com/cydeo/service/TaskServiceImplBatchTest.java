@@ -0,0 +1,196 @@
+package com.cydeo.service;
+
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.TaskBatchResultDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import com.cydeo.exception.TicketingProjectException;
+import com.cydeo.mapper.ProjectMapperImpl;
+import com.cydeo.mapper.RoleMapperImpl;
+import com.cydeo.mapper.TaskMapperImpl;
+import com.cydeo.mapper.UserMapperImpl;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.impl.ProjectTaskStatsServiceImpl;
+import com.cydeo.service.impl.TaskServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskServiceImpl.class, ProjectTaskStatsServiceImpl.class, TaskMapperImpl.class, ProjectMapperImpl.class, UserMapperImpl.class, RoleMapperImpl.class,
+        LocalValidatorFactoryBean.class, PaginationProperties.class})
+class TaskServiceImplBatchTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectTaskStatsService projectTaskStatsService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private CurrentUserService currentUserService;
+
+    private Statistics statistics;
+    private ProjectDTO projectDTO;
+    private UserDTO employeeDTO;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Project project = new Project();
+        project.setProjectCode("PR001");
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(5));
+        project = entityManager.persist(project);
+
+        User employee = new User();
+        employee.setUserName("employee@cydeo.com");
+        employee.setPassWord("Abc1");
+        employee = entityManager.persist(employee);
+        entityManager.flush();
+
+        employeeDTO = new UserDTO();
+        employeeDTO.setId(employee.getId());
+        employeeDTO.setUserName(employee.getUserName());
+
+        projectDTO = new ProjectDTO();
+        projectDTO.setId(project.getId());
+        projectDTO.setProjectCode(project.getProjectCode());
+    }
+
+    @Test
+    void should_insert_tasks_in_jdbc_batches() throws TicketingProjectException {
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            tasks.add(task(null, "Subject " + i));
+        }
+        statistics.clear();
+
+        List<TaskBatchResultDTO> results = taskService.saveAll(tasks);
+        entityManager.flush();
+
+        assertThat(results).hasSize(120).allMatch(TaskBatchResultDTO::isSuccess).allMatch(result -> result.getId() != null);
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getInsertCount()).isEqualTo(120);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(15);  // batches of 50 plus pooled sequence calls
+        assertThat(projectTaskStatsService.totalNonCompletedTask("PR001")).isEqualTo(120);
+    }
+
+    @Test
+    void should_not_persist_anything_when_one_task_is_invalid() throws TicketingProjectException {
+        List<TaskDTO> tasks = List.of(task(null, "Valid"), task(null, ""));
+
+        List<TaskBatchResultDTO> results = taskService.saveAll(tasks);
+
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getMessage()).contains("taskSubject");
+        assertThat(taskRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void should_update_tasks_and_report_unknown_ids() throws TicketingProjectException {
+        List<Long> ids = taskService.saveAll(List.of(task(null, "First"), task(null, "Second"))).stream()
+                .map(TaskBatchResultDTO::getId).collect(Collectors.toList());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskBatchResultDTO> missing = taskService.updateAll(List.of(task(ids.get(0), "Changed"), task(-1L, "Unknown")));
+        assertThat(missing.get(1).getMessage()).isEqualTo("Task not found");
+
+        TaskDTO completed = task(ids.get(1), "Done");
+        completed.setTaskStatus(Status.COMPLETE);
+        List<TaskBatchResultDTO> results = taskService.updateAll(List.of(task(ids.get(0), "Changed"), completed));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(results).allMatch(TaskBatchResultDTO::isSuccess);
+        Task changed = taskRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(changed.getTaskSubject()).isEqualTo("Changed");
+        assertThat(changed.getTaskStatus()).isEqualTo(Status.OPEN);
+        assertThat(projectTaskStatsService.totalNonCompletedTask("PR001")).isEqualTo(1);
+        assertThat(projectTaskStatsService.totalCompletedTask("PR001")).isEqualTo(1);
+    }
+
+    @Test
+    void should_reject_ids_on_create() throws TicketingProjectException {
+        List<TaskBatchResultDTO> results = taskService.saveAll(List.of(task(null, "New"), task(7L, "With id")));
+
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getMessage()).isEqualTo("Task id must not be set on create");
+        assertThat(taskRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void should_reject_a_task_sent_twice_in_one_update() throws TicketingProjectException {
+        Long id = taskService.saveAll(List.of(task(null, "First"))).get(0).getId();
+        entityManager.flush();
+        entityManager.clear();
+        TaskDTO completed = task(id, "Done");
+        completed.setTaskStatus(Status.COMPLETE);
+
+        List<TaskBatchResultDTO> results = taskService.updateAll(List.of(completed, completed));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).getMessage()).isEqualTo("Task appears more than once in the batch");
+        assertThat(taskRepository.findById(id).orElseThrow().getTaskStatus()).isEqualTo(Status.OPEN);
+        assertThat(projectTaskStatsService.totalNonCompletedTask("PR001")).isEqualTo(1);
+        assertThat(projectTaskStatsService.totalCompletedTask("PR001")).isZero();
+    }
+
+    @Test
+    void should_reject_oversized_batch() {
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            tasks.add(task(null, "Subject"));
+        }
+
+        Throwable throwable = catchThrowable(() -> taskService.saveAll(tasks));
+
+        assertInstanceOf(TicketingProjectException.class, throwable);
+    }
+
+    private TaskDTO task(Long id, String subject) {
+        TaskDTO task = new TaskDTO();
+        task.setId(id);
+        task.setProject(projectDTO);
+        task.setAssignedEmployee(employeeDTO);
+        task.setTaskSubject(subject);
+        task.setTaskDetail("Detail");
+        return task;
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.User;
+import com.cydeo.mapper.RoleMapperImpl;
+import com.cydeo.mapper.UserMapperImpl;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.impl.UserDirectoryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserDirectoryService userDirectoryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDirectoryService = new UserDirectoryServiceImpl(userRepository, new UserMapperImpl(new RoleMapperImpl()), meterRegistry, 100, 300);
+    }
+
+    @Test
+    void should_load_once_and_count_hits_and_misses() {
+        when(userRepository.findByUserNameAndIsDeleted("user", false)).thenReturn(user());
+
+        userDirectoryService.findByUserName("user");
+        userDirectoryService.findByUserName("user");
+        userDirectoryService.findByUserName("user");
+
+        verify(userRepository, times(1)).findByUserNameAndIsDeleted("user", false);
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void should_hand_out_copies_without_the_password() {
+        when(userRepository.findByUserNameAndIsDeleted("user", false)).thenReturn(user());
+
+        UserDTO first = userDirectoryService.findByUserName("user");
+        first.setFirstName("Changed");
+        first.getRole().setDescription("Admin");
+        UserDTO second = userDirectoryService.findByUserName("user");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getFirstName()).isEqualTo("John");
+        assertThat(second.getRole().getDescription()).isEqualTo("Manager");
+        assertThat(second.getPassWord()).isNull();
+    }
+
+    @Test
+    void should_reload_after_invalidation() {
+        when(userRepository.findByUserNameAndIsDeleted("user", false)).thenReturn(user());
+
+        userDirectoryService.findByUserName("user");
+        userDirectoryService.invalidate("user");
+        userDirectoryService.findByUserName("user");
+
+        verify(userRepository, times(2)).findByUserNameAndIsDeleted("user", false);
+    }
+
+    @Test
+    void should_invalidate_only_once_the_transaction_commits() {
+        when(userRepository.findByUserNameAndIsDeleted("user", false)).thenReturn(user());
+        userDirectoryService.findByUserName("user");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userDirectoryService.invalidate("user");
+            userDirectoryService.findByUserName("user");
+            verify(userRepository, times(1)).findByUserNameAndIsDeleted("user", false);   // still cached before commit
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        userDirectoryService.findByUserName("user");
+
+        verify(userRepository, times(2)).findByUserNameAndIsDeleted("user", false);
+    }
+
+    @Test
+    void should_keep_the_entry_when_the_transaction_rolls_back() {
+        when(userRepository.findByUserNameAndIsDeleted("user", false)).thenReturn(user());
+        userDirectoryService.findByUserName("user");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userDirectoryService.invalidate("user");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        userDirectoryService.findByUserName("user");
+
+        verify(userRepository, times(1)).findByUserNameAndIsDeleted("user", false);
+    }
+
+    @Test
+    void should_not_cache_unknown_user() {
+        Throwable throwable = catchThrowable(() -> userDirectoryService.findByUserName("missing"));
+        when(userRepository.findByUserNameAndIsDeleted("missing", false)).thenReturn(user());
+
+        assertInstanceOf(NoSuchElementException.class, throwable);
+        assertThat(userDirectoryService.findByUserName("missing").getUserName()).isEqualTo("user");
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", UserDirectoryServiceImpl.CACHE_NAME).tag("result", result).functionCounter().count();
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUserName("user");
+        user.setFirstName("John");
+        user.setPassWord("$2a$10$hash");
+        user.setRole(new Role("Manager"));
+        return user;
+    }
+
+}
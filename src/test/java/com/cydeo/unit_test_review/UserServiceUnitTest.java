@@ -7,23 +7,27 @@ import com.cydeo.dto.UserDTO;
 import com.cydeo.entity.Role;
 import com.cydeo.entity.User;
 import com.cydeo.exception.TicketingProjectException;
+import com.cydeo.mapper.RoleMapperImpl;
 import com.cydeo.mapper.UserMapper;
+import com.cydeo.mapper.UserMapperImpl;
 import com.cydeo.repository.UserRepository;
-import com.cydeo.service.KeycloakService;
+import com.cydeo.service.KeycloakOutboxService;
 import com.cydeo.service.ProjectService;
 import com.cydeo.service.TaskService;
+import com.cydeo.service.UserDirectoryService;
 import com.cydeo.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 
 import java.util.ArrayList;
@@ -47,15 +51,19 @@ public class UserServiceUnitTest {
     @Mock
     private TaskService taskService;
     @Mock
-    private KeycloakService keycloakService;
+    private KeycloakOutboxService keycloakOutboxService;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserDirectoryService userDirectoryService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private UserServiceImpl userService;
 
     @Spy
-    private UserMapper userMapper = new UserMapper(new ModelMapper());
+    private UserMapper userMapper = new UserMapperImpl(new RoleMapperImpl());
 
     User user;
     UserDTO userDTO;
@@ -154,12 +162,13 @@ public class UserServiceUnitTest {
 
         assertThat(actualDTO).usingRecursiveComparison().ignoringExpectedNullFields().isEqualTo(userDTO);
         // i just want to verify when this method is triggered
-        verify(keycloakService, atLeastOnce()).userCreate(any());
+        verify(keycloakOutboxService, atLeastOnce()).enqueueCreate(any());
         verify(passwordEncoder).encode(anyString()); // to make sure keycloak
     }
 
     @Test
     void should_update_user(){
+        user.setPassWord("$2a$10$previousHash");    // a new password is sent, so it is hashed
 
         when(userRepository.findByUserNameAndIsDeleted(anyString(), anyBoolean())).thenReturn(user);
 
@@ -168,13 +177,29 @@ public class UserServiceUnitTest {
         UserDTO actualDTO = userService.update(userDTO);
 
         verify(passwordEncoder).encode(anyString());
+        verify(userDirectoryService).invalidate(userDTO.getUserName());
+        verify(keycloakOutboxService).enqueueUpdate(userDTO, user.getKeycloakId());
 
         assertThat(actualDTO).usingRecursiveComparison().ignoringExpectedNullFields().isEqualTo(userDTO);
 
     }
+
+    @ParameterizedTest
+    @NullAndEmptySource     // a password is only sent to change it
+    void should_not_rehash_unchanged_password(String password) {
+        userDTO.setPassWord(password);
+        when(userRepository.findByUserNameAndIsDeleted(anyString(), anyBoolean())).thenReturn(user);
+
+        userService.update(userDTO);
+
+        verifyNoInteractions(passwordEncoder);
+        verify(userRepository).save(argThat(saved -> saved.getPassWord().equals("Abc1")));
+    }
+
     @Test
     void should_delete_manager() throws TicketingProjectException {
         User managerUser = getUser("Manager");
+        managerUser.setKeycloakId("keycloak-id");
 
         when(userRepository.findByUserNameAndIsDeleted(anyString(), anyBoolean())).thenReturn(managerUser);
         when(userRepository.save(any())).thenReturn(managerUser);
@@ -183,6 +208,8 @@ public class UserServiceUnitTest {
 
         assertTrue(managerUser.getIsDeleted());
         assertNotEquals("user3", managerUser.getUserName());
+        verify(userDirectoryService).invalidate(userDTO.getUserName());
+        verify(keycloakOutboxService).enqueueDelete(userDTO.getUserName(), "keycloak-id");
 
 
     }
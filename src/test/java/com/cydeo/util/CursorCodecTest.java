@@ -0,0 +1,26 @@
+package com.cydeo.util;
+
+import com.cydeo.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+    @Test
+    void should_round_trip_keys() {
+        String cursor = CursorCodec.encode("Mike", 42L);
+
+        assertThat(cursor).doesNotContain("Mike", "=", "+", "/");
+        assertThat(CursorCodec.decode(cursor, 2)).containsExactly("Mike", "42");
+    }
+
+    @Test
+    void should_reject_tampered_cursor() {
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode("not base64!", 1));
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode(CursorCodec.encode("SP00"), 2));
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decodeLong("abc"));
+    }
+
+}
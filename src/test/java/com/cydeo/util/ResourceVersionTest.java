@@ -0,0 +1,60 @@
+package com.cydeo.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceVersionTest {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2022, 1, 1, 10, 0);
+    private static final LocalDateTime SECOND = LocalDateTime.of(2022, 1, 2, 10, 0);
+
+    @Test
+    void should_be_stable_for_same_rows() {
+        ResourceVersion version = ResourceVersion.of(rows(new Object[]{1L, FIRST, 2L, SECOND}));
+
+        assertThat(version.getEtag()).matches("\"[0-9a-f]{32}\"")
+                .isEqualTo(ResourceVersion.of(rows(new Object[]{1L, FIRST, 2L, SECOND})).getEtag());
+        assertThat(version.getLastModified()).isEqualTo(SECOND.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    @Test
+    void should_change_when_rows_change() {
+        String etag = ResourceVersion.of(rows(new Object[]{1L, FIRST}, new Object[]{2L, FIRST})).getEtag();
+
+        assertThat(ResourceVersion.of(rows(new Object[]{1L, FIRST}, new Object[]{2L, SECOND})).getEtag()).isNotEqualTo(etag);
+        assertThat(ResourceVersion.of(rows(new Object[]{2L, FIRST}, new Object[]{1L, FIRST})).getEtag()).isNotEqualTo(etag);
+        assertThat(ResourceVersion.of(rows(new Object[]{1L, FIRST})).getEtag()).isNotEqualTo(etag);
+        assertThat(ResourceVersion.of(rows(new Object[]{1L, FIRST, 2L, FIRST})).getEtag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void should_leave_out_last_modified_without_rows() {
+        ResourceVersion version = ResourceVersion.of(Collections.emptyList());
+
+        assertThat(version.getLastModified()).isEqualTo(-1);
+        assertThat(version.toHeaders().getETag()).isEqualTo(version.getEtag());
+        assertThat(version.toHeaders().containsKey(HttpHeaders.LAST_MODIFIED)).isFalse();
+    }
+
+    @Test
+    void should_give_collections_an_etag_only() {
+        ResourceVersion version = ResourceVersion.ofCollection(rows(new Object[]{1L, FIRST}, new Object[]{2L, SECOND}));
+
+        assertThat(version.getEtag()).isEqualTo(ResourceVersion.of(rows(new Object[]{1L, FIRST}, new Object[]{2L, SECOND})).getEtag());
+        assertThat(version.getLastModified()).isEqualTo(-1);
+        assertThat(version.toHeaders().containsKey(HttpHeaders.LAST_MODIFIED)).isFalse();
+    }
+
+    private List<Object[]> rows(Object[]... rows) {
+        return Arrays.asList(rows);
+    }
+
+}
@@ -0,0 +1,52 @@
+-- Enough rows for the planner to cost the indexes the way it would in production. On empty tables any index looks as
+-- cheap as any other and the plans say nothing. Loaded once by RepositoryQueryPlanTest, then ANALYZEd.
+
+INSERT INTO roles (id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
+VALUES (1, now(), 1, false, now(), 1, 'Admin'),
+       (2, now(), 1, false, now(), 1, 'Manager'),
+       (3, now(), 1, false, now(), 1, 'Employee');
+
+INSERT INTO users (id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled,
+                   first_name, gender, keycloak_id, last_name, pass_word, phone, user_name, role_id)
+SELECT g, now(), 1, g % 50 = 0, now(), 1, true,
+       'First' || (g % 700), 'MALE', CASE WHEN g % 20 = 0 THEN NULL ELSE md5(g::text)::uuid::text END,
+       'Last' || g, 'secret', '555' || g, 'user' || g || '@cydeo.com',
+       CASE WHEN g % 100 = 0 THEN 1 WHEN g % 10 = 0 THEN 2 ELSE 3 END
+FROM generate_series(1, 10000) g;
+
+INSERT INTO projects (id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id,
+                      end_date, project_code, project_detail, project_name, project_status, start_date, manager_id)
+SELECT g, now(), 1, g % 33 = 0, now(), 1, current_date + 30, 'SP' || lpad(g::text, 5, '0'), 'Detail', 'Project ' || g,
+       CASE WHEN g % 3 = 0 THEN 'COMPLETE' ELSE 'OPEN' END, current_date, (g % 1000 + 1) * 10
+FROM generate_series(1, 20000) g;
+
+INSERT INTO tasks (id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id,
+                   assigned_date, task_detail, task_status, task_subject, assigned_employee_id, project_id)
+SELECT g, now(), 1, g % 20 = 0, now(), 1, current_date, 'Detail',
+       CASE g % 4 WHEN 0 THEN 'COMPLETE' WHEN 1 THEN 'IN_PROGRESS' ELSE 'OPEN' END,
+       'Task ' || g, g % 10000 + 1, g % 20000 + 1
+FROM generate_series(1, 200000) g;
+
+INSERT INTO project_task_stats (project_id, complete_count, in_progress_count, open_count)
+SELECT id, 2, 2, 5 FROM projects;
+
+INSERT INTO keycloak_outbox (id, attempts, created_at, event_type, next_attempt_at, status, user_name)
+SELECT g, 0, now() - g * interval '1 minute', 'USER_CREATE', now() - g * interval '1 minute',
+       CASE WHEN g % 100 = 0 THEN 'PENDING' ELSE 'DONE' END, 'user' || (g % 10000 + 1) || '@cydeo.com'
+FROM generate_series(1, 20000) g;
+
+INSERT INTO tasks_archive (id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id,
+                           assigned_date, task_detail, task_status, task_subject, assigned_employee_id, project_id, project_code,
+                           archived_at)
+SELECT g, now(), 1, g % 4 = 0, now(), 1, current_date, 'Detail', 'COMPLETE', 'Task ' || g, g % 10000 + 1, g % 30000 + 1,
+       'SP' || lpad((g % 30000 + 1)::text, 5, '0'), now()
+FROM generate_series(200001, 300000) g;
+
+INSERT INTO projects_archive (id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id,
+                              end_date, project_code, project_detail, project_name, project_status, start_date, manager_id,
+                              archived_at)
+SELECT g, now(), 1, true, now(), 1, current_date, 'SP' || lpad(g::text, 5, '0'), 'Detail', 'Project ' || g, 'OPEN',
+       current_date, 10, now()
+FROM generate_series(20001, 30000) g;
+
+ANALYZE;